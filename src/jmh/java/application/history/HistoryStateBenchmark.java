@@ -0,0 +1,68 @@
+package application.history;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/*
+ * A user action made of many commands, as a bulk erase of the annotations of a long interview.
+ * The commands barely touch a model, so only the history is measured. Something listens to the
+ * undo and redo availability, as the buttons of the app do.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HistoryStateBenchmark {
+
+    @Param({ "10000" })
+    private int commands;
+
+    private HistoryState state;
+    private int count;
+    private int availabilityChanges;
+
+    private class CountCommand extends ModelUserActionCommand<Void, Void> {
+        @Override
+        public Void execute() {
+            count++;
+            return null;
+        }
+
+        @Override
+        public Void undo() {
+            count--;
+            return null;
+        }
+    }
+
+    @Setup
+    public void createUserAction() {
+        state = new HistoryState();
+        state.canGoBackProperty().addListener((observable, oldValue, newValue) -> availabilityChanges++);
+        state.canGoForwardProperty().addListener((observable, oldValue, newValue) -> availabilityChanges++);
+        addUserAction(state);
+    }
+
+    private void addUserAction(HistoryState history) {
+        for (int i = 0; i < commands; i++)
+            history.addCommand(new CountCommand(), i == 0);
+    }
+
+    @Benchmark
+    public int undoRedo() {
+        state.unexecuteUserAction();
+        state.executeUserAction();
+        return count + availabilityChanges;
+    }
+
+    @Benchmark
+    public int addAndClear() {
+        HistoryState history = new HistoryState();
+        addUserAction(history);
+        history.clear();
+        return count;
+    }
+}
@@ -0,0 +1,103 @@
+package components.schemaTree.Cell;
+
+import application.configuration.Configuration;
+import javafx.application.Platform;
+import javafx.scene.control.TreeItem;
+import javafx.scene.control.TreeView;
+import models.SchemaCategory;
+import models.SchemaFolder;
+import models.SchemaTreeRoot;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Locale;
+import java.util.ResourceBundle;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * The graphics of the schema tree cells as the tree is scrolled: each row is shown either by loading
+ * the FXML and creating a controller, as the cells used to do, or by re-binding the graphics of a cell.
+ * The cells are created on the JavaFX thread, as they are in the app: the toolkit runs headless.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = { "-Dglass.platform=Monocle", "-Dmonocle.platform=Headless", "-Dprism.order=sw" })
+public class SchemaTreeCellGraphicsBenchmark {
+
+    private static final int rows = 100;
+
+    private TreeView<SchemaTreePluggable> view;
+    private final TreeItem<SchemaTreePluggable>[] items = new TreeItem[rows];
+    private final SchemaTreeCellGraphics cellGraphics = new SchemaTreeCellGraphics();
+
+    @Setup
+    public void startToolkit() throws InterruptedException {
+        if (Configuration.langBundle == null)
+            Configuration.langBundle = ResourceBundle.getBundle("bundles.Lang", Locale.ENGLISH);
+        CountDownLatch started = new CountDownLatch(1);
+        Platform.startup(started::countDown);
+        started.await();
+        onFxThread(this::createTree);
+    }
+
+    @TearDown
+    public void stopToolkit() {
+        Platform.exit();
+    }
+
+    private void createTree() {
+        SchemaTreeRoot root = new SchemaTreeRoot("root");
+        SchemaFolder folder = new SchemaFolder("folder");
+        root.addChild(folder);
+        TreeItem<SchemaTreePluggable> folderItem = new TreeItem<>(folder);
+        for (int i = 0; i < rows; i++) {
+            SchemaCategory category = new SchemaCategory("category " + i);
+            folder.addChild(category);
+            items[i] = new TreeItem<>(category);
+            folderItem.getChildren().add(items[i]);
+        }
+        TreeItem<SchemaTreePluggable> rootItem = new TreeItem<>(root);
+        rootItem.getChildren().add(folderItem);
+        view = new TreeView<>(rootItem);
+    }
+
+    private void onFxThread(Runnable runnable) throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(1);
+        Platform.runLater(() -> {
+            runnable.run();
+            done.countDown();
+        });
+        done.await();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(rows)
+    public void fxmlLoad(Blackhole blackhole) throws InterruptedException {
+        onFxThread(() -> {
+            try {
+                for (TreeItem<SchemaTreePluggable> item : items)
+                    blackhole.consume(SchemaTreeCellGraphics.load(view, item).graphic);
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+        });
+    }
+
+    // a single cell showing the rows one after the other
+    @Benchmark
+    @OperationsPerInvocation(rows)
+    public void rebind(Blackhole blackhole) throws InterruptedException {
+        onFxThread(() -> {
+            try {
+                for (TreeItem<SchemaTreePluggable> item : items)
+                    blackhole.consume(cellGraphics.get(view, item).graphic);
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+        });
+    }
+}
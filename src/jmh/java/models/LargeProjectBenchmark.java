@@ -0,0 +1,137 @@
+package models;
+
+import components.modelisationSpace.hooks.ModelisationSpaceHook;
+import components.schemaTree.Services.categoryUsesCounter.SchemaCategoryUsesCounter;
+import components.schemaTree.Services.propertyUsesCounter.SchemaPropertyUsesCounter;
+import javafx.application.Platform;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import persistency.Export.exportModel;
+
+import java.time.LocalDate;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Walks a large synthetic project the way the export, the moment lookups and the uses counters do.
+ * Each interview has top-level moments with a sub-moment, all of them coded with a category of the schema.
+ * The counters are created on the JavaFX thread, as they are in the app: the toolkit runs headless.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = { "-Dglass.platform=Monocle", "-Dmonocle.platform=Headless", "-Dprism.order=sw" })
+public class LargeProjectBenchmark {
+
+    @Param({ "20" })
+    private int interviews;
+
+    @Param({ "300" })
+    private int momentsPerInterview;
+
+    private Project project;
+
+    @Setup
+    public void startToolkit() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        Platform.startup(started::countDown);
+        started.await();
+    }
+
+    @TearDown
+    public void stopToolkit() {
+        Platform.exit();
+    }
+
+    @Setup
+    public void createProject() {
+        SchemaTreeRoot root = new SchemaTreeRoot("root");
+        SchemaFolder folder = new SchemaFolder("folder");
+        root.addChild(folder);
+        SchemaCategory[] categories = new SchemaCategory[10];
+        for (int i = 0; i < categories.length; i++) {
+            categories[i] = new SchemaCategory("category " + i);
+            categories[i].addChild(new SchemaProperty("first property"));
+            categories[i].addChild(new SchemaProperty("second property"));
+            folder.addChild(categories[i]);
+        }
+        project = new Project("benchmark", root);
+
+        for (int i = 0; i < interviews; i++) {
+            InterviewText text = new InterviewText("some words of the interview ".repeat(momentsPerInterview));
+            Interview interview = new Interview("interview " + i, LocalDate.of(2020, 1, 1), text, new RootMoment());
+            for (int j = 0; j < momentsPerInterview; j++) {
+                Moment moment = codedMoment("moment " + j, text, categories[j % categories.length], j);
+                moment.addMoment(codedMoment("sub-moment " + j, text, categories[(j + 1) % categories.length], j));
+                interview.getRootMoment().addMoment(moment);
+            }
+            project.addInterview(interview);
+        }
+        project.setSelectedInterview(project.interviewsProperty().get(0));
+    }
+
+    private static Moment codedMoment(String name, InterviewText text, SchemaCategory category, int position) {
+        Moment moment = new Moment(name);
+        int start = position * 28;
+        moment.getJustification().addDescripteme(new Descripteme(text, start, start + 4));
+        ConcreteCategory concreteCategory = new ConcreteCategory(category);
+        concreteCategory.getJustification().addDescripteme(new Descripteme(text, start + 5, start + 10));
+        for (ConcreteProperty property : concreteCategory.propertiesProperty())
+            property.setValue("value " + position);
+        moment.addCategory(concreteCategory);
+        return moment;
+    }
+
+    // the index of every moment in its parent, and of every concrete category in its moment
+    @Benchmark
+    public void treeTraversal(Blackhole blackhole) {
+        for (Interview interview : project.interviewsProperty())
+            traverse(interview.getRootMoment(), blackhole);
+    }
+
+    private static void traverse(RootMoment parent, Blackhole blackhole) {
+        for (int i = 0; i < parent.momentsProperty().size(); i++) {
+            Moment moment = parent.momentsProperty().get(i);
+            blackhole.consume(parent.indexOf(moment));
+            for (int j = 0; j < moment.concreteCategoriesProperty().size(); j++)
+                blackhole.consume(moment.indexOfConcreteCategory(moment.concreteCategoriesProperty().get(j)));
+            traverse(moment, blackhole);
+        }
+    }
+
+    // the rows of the export, then every cell read as the CSV writer does
+    @Benchmark
+    public void export(Blackhole blackhole) {
+        exportModel model = new exportModel(project);
+        for (int row = 0; row < model.getRowCount(); row++) {
+            for (int column = 0; column < model.getColumnCount(); column++)
+                blackhole.consume(model.getValueAt(row, column));
+        }
+    }
+
+    // opening a project whose statistics were not saved: all the interviews are counted
+    @Benchmark
+    public void counterInitialization(Blackhole blackhole) throws InterruptedException {
+        project.setUsageStatistics(new SchemaUsageStatistics());
+        initializeCounters(blackhole);
+    }
+
+    // opening a project with its saved statistics: only the selected interview is counted
+    @Benchmark
+    public void counterInitializationFromSavedStatistics(Blackhole blackhole) throws InterruptedException {
+        initializeCounters(blackhole);
+    }
+
+    private void initializeCounters(Blackhole blackhole) throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(1);
+        Platform.runLater(() -> {
+            ModelisationSpaceHook hook = new ModelisationSpaceHook();
+            blackhole.consume(new SchemaCategoryUsesCounter(project, hook));
+            blackhole.consume(new SchemaPropertyUsesCounter(project, hook));
+            done.countDown();
+        });
+        done.await();
+    }
+}
@@ -0,0 +1,78 @@
+package utils.fullTextSearch;
+
+import models.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Searches the texts of a project with many long interviews, once they are indexed.
+ * The words are drawn from a vocabulary with accents, the frequent ones more often, as in a real text.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FullTextSearchBenchmark {
+
+    @Param({ "500" })
+    private int interviews;
+
+    @Param({ "5000" })
+    private int wordsPerInterview;
+
+    // accents are folded: "emotion" finds "émotion"
+    @Param({ "emotion", "ressent", "tres emu", "vraiment pas" })
+    private String query;
+
+    private FullTextSearch search;
+
+    @Setup
+    public void indexProject() {
+        Random random = new Random(42);
+        String[] vocabulary = vocabulary(random, 3000);
+        Project project = new Project("benchmark", new SchemaTreeRoot("root"));
+        for (int i = 0; i < interviews; i++) {
+            StringBuilder text = new StringBuilder();
+            for (int j = 0; j < wordsPerInterview; j++) {
+                // the lower the index, the more frequent the word
+                double r = random.nextDouble();
+                text.append(vocabulary[(int) (r * r * r * vocabulary.length)]);
+                text.append(j % 12 == 11 ? ". " : " ");
+            }
+            project.addInterview(new Interview("interview " + i, LocalDate.of(2020, 1, 1), new InterviewText(text.toString()), new RootMoment()));
+        }
+        search = new FullTextSearch(project);
+        search.search("indexer");
+    }
+
+    @TearDown
+    public void stopIndexer() {
+        search.unbind();
+    }
+
+    private static String[] vocabulary(Random random, int size) {
+        String[] common = { "je", "il", "est", "pas", "très", "ému", "vraiment", "émotion", "ressenti", "ça", "on", "était" };
+        String letters = "abcdeéèfghijklmnopqrstuvwxyzàç";
+        String[] words = new String[size];
+        System.arraycopy(common, 0, words, 0, common.length);
+        for (int i = common.length; i < size; i++) {
+            StringBuilder word = new StringBuilder();
+            int length = 2 + random.nextInt(9);
+            for (int j = 0; j < length; j++)
+                word.append(letters.charAt(random.nextInt(letters.length())));
+            words[i] = word.toString();
+        }
+        return words;
+    }
+
+    @Benchmark
+    public List<SearchHit> search() {
+        return search.search(query);
+    }
+}
@@ -10,7 +10,6 @@ import javafx.stage.Stage;
 import models.Project;
 
 import java.io.IOException;
-import java.util.UUID;
 
 
 public class UPMTApp {
@@ -20,7 +19,7 @@ public class UPMTApp {
     private ApplicationCommandFactory appCommandFactory;
     private Project currentProject;
     private String currentProjectPath;
-    private UUID lastSavedCommandId;
+    private long lastSavedCommandId = HistoryManager.noUserAction;
 
     public UPMTApp(Stage primaryStage) throws IOException {
 
@@ -71,8 +70,8 @@ public class UPMTApp {
     public String getCurrentProjectPath() { return currentProjectPath; }
     public void setCurrentProjectPath(String currentProjectPath) { this.currentProjectPath = currentProjectPath; }
 
-    public void setLastSavedCommandId(UUID lastCommandId) { this.lastSavedCommandId = lastCommandId; }
-    public UUID getLastSavedCommandId() { return lastSavedCommandId; }
+    public void setLastSavedCommandId(long lastCommandId) { this.lastSavedCommandId = lastCommandId; }
+    public long getLastSavedCommandId() { return lastSavedCommandId; }
 
     public void restartApp() {
         primaryStage.getScene().setRoot(RootLayoutController.createRootLayout(rootLayoutController));
@@ -3,8 +3,6 @@ package application.appCommands;
 import application.history.HistoryManager;
 import application.UPMTApp;
 
-import java.util.UUID;
-
 public class ProjectSavingStatusChangedCommand extends ApplicationCommand<Void> {
 
     private String unsavedProjectSymbol = " * ";
@@ -17,10 +15,10 @@ public class ProjectSavingStatusChangedCommand extends ApplicationCommand<Void>
     public Void execute() {
         //If the last saved command is the current command, then only remove * from title
         String currentTitle = upmtApp.getPrimaryStage().getTitle();
-        UUID currentCommandId = HistoryManager.getCurrentCommandId();
-        UUID lastSavedCommandId = upmtApp.getLastSavedCommandId();
-        if(currentCommandId != null && lastSavedCommandId != null){
-            if(HistoryManager.getCurrentCommandId().equals(lastSavedCommandId)){
+        long currentCommandId = HistoryManager.getCurrentCommandId();
+        long lastSavedCommandId = upmtApp.getLastSavedCommandId();
+        if(currentCommandId != HistoryManager.noUserAction && lastSavedCommandId != HistoryManager.noUserAction){
+            if(currentCommandId == lastSavedCommandId){
                 if(currentTitle.endsWith(unsavedProjectSymbol)){
                     upmtApp.getPrimaryStage().setTitle(currentTitle.substring(0, currentTitle.length() - unsavedProjectSymbol.length()));
                 }
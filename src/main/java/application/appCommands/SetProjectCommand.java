@@ -26,6 +26,7 @@ public class SetProjectCommand extends ApplicationCommand<Void> {
                 Configuration.addToProjects(projectPath);
             upmtApp.setCurrentProject(project, projectPath);
             HistoryManager.clearActionStack();
+            HistoryManager.restoreLater(project.getCommandLog(), upmtApp::setLastSavedCommandId);
         }
         catch(IOException e) {
             e.printStackTrace();
@@ -9,4 +9,9 @@ public class AppSettings {
     public static SimpleBooleanProperty autoScrollWhenReveal = new SimpleBooleanProperty();
     public static int delayRevealDescripteme;
     public static SimpleIntegerProperty zoomLevelProperty = new SimpleIntegerProperty();
+    // bounds of the undo history (0: no bound)
+    public static int historyMaxUserActions = 500;
+    public static int historyMaxMegabytes = 64;
+    // number of user actions saved with the project, to undo them after it is reopened
+    public static int historySavedUserActions = 100;
 }
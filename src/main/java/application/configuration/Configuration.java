@@ -73,6 +73,10 @@ public class Configuration {
         String delayRevealDescriptemeString = loadOneProperty(properties, "delayRevealDescripteme");
         AppSettings.delayRevealDescripteme = parseInt(delayRevealDescriptemeString);
         AppSettings.zoomLevelProperty.set(parseInt(loadOneProperty(properties, "zoomLevel")));
+        // added later: the properties files of older versions don't have them
+        AppSettings.historyMaxUserActions = parseInt(properties.getProperty("historyMaxUserActions", String.valueOf(AppSettings.historyMaxUserActions)));
+        AppSettings.historyMaxMegabytes = parseInt(properties.getProperty("historyMaxMegabytes", String.valueOf(AppSettings.historyMaxMegabytes)));
+        AppSettings.historySavedUserActions = parseInt(properties.getProperty("historySavedUserActions", String.valueOf(AppSettings.historySavedUserActions)));
     }
 
     private static String loadOneProperty(Properties properties, String propertyName) {
@@ -129,6 +133,9 @@ public class Configuration {
             props.setProperty("autoScrollWhenReveal", "true");
             props.setProperty("delayRevealDescripteme", "500");
             props.setProperty("zoomLevel", "100");
+            props.setProperty("historyMaxUserActions", String.valueOf(AppSettings.historyMaxUserActions));
+            props.setProperty("historyMaxMegabytes", String.valueOf(AppSettings.historyMaxMegabytes));
+            props.setProperty("historySavedUserActions", String.valueOf(AppSettings.historySavedUserActions));
             props.store(new FileOutputStream(upmtProperties), null);
         }
         return true;
@@ -167,6 +174,9 @@ public class Configuration {
         props.setProperty("autoScrollWhenReveal", String.valueOf(AppSettings.autoScrollWhenReveal.get()));
         props.setProperty("delayRevealDescripteme", String.valueOf(AppSettings.delayRevealDescripteme));
         props.setProperty("zoomLevel", String.valueOf(AppSettings.zoomLevelProperty.get()));
+        props.setProperty("historyMaxUserActions", String.valueOf(AppSettings.historyMaxUserActions));
+        props.setProperty("historyMaxMegabytes", String.valueOf(AppSettings.historyMaxMegabytes));
+        props.setProperty("historySavedUserActions", String.valueOf(AppSettings.historySavedUserActions));
         props.store(new FileOutputStream(upmtProperties), null);
 
         return true;
@@ -0,0 +1,160 @@
+package application.history;
+
+import application.configuration.AppSettings;
+import components.modelisationSpace.moment.modelCommands.AddComment;
+import components.modelisationSpace.moment.modelCommands.MoveMoment;
+import components.modelisationSpace.moment.modelCommands.RenameMoment;
+import components.modelisationSpace.moment.modelCommands.SetMomentTrans;
+import javafx.application.Platform;
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+import utils.reactiveTree.Commands.RenameReactiveTreePluggableCommand;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.function.ToIntFunction;
+
+/*
+ * The undo history, saved next to the project file so that undo and redo survive reopening the project.
+ * Only the most recent user actions are saved, up to the first one with a command that has no log encoding
+ * or that references an object which is not in the project file (e.g. a deleted moment).
+ */
+public class CommandLog {
+
+    public static final String extension = ".history";
+    private static final int version = 1;
+
+    private static final HashMap<String, Function<CommandLogEntry, ModelUserActionCommand>> decoders = new HashMap<>();
+    static {
+        decoders.put(RenameMoment.logType, RenameMoment::new);
+        decoders.put(AddComment.logType, AddComment::new);
+        decoders.put(SetMomentTrans.logType, SetMomentTrans::new);
+        decoders.put(MoveMoment.logType, MoveMoment::new);
+        decoders.put(RenameReactiveTreePluggableCommand.logType, RenameReactiveTreePluggableCommand::new);
+    }
+
+    private final Path path;
+    private final int projectHash;
+    private final IntFunction<Object> models;
+
+    // projectHash identifies the content of the project file: a log written with another version of it is ignored
+    public CommandLog(String projectPath, int projectHash, IntFunction<Object> models) {
+        this.path = Paths.get(projectPath + extension);
+        this.projectHash = projectHash;
+        this.models = models;
+    }
+
+    static void write(HistoryState state, String projectPath, int projectHash, ToIntFunction<Object> ids) throws IOException {
+        Path path = Paths.get(projectPath + extension);
+        JSONArray undo = encode(state.undoCommands(), ids);
+        JSONArray redo = encode(state.redoCommands(), ids);
+        if(undo.length() == 0 && redo.length() == 0) {
+            Files.deleteIfExists(path);
+            return;
+        }
+
+        JSONObject obj = new JSONObject();
+        obj.put("version", version);
+        obj.put("projectHash", projectHash);
+        obj.put("undo", undo);
+        obj.put("redo", redo);
+        try (BufferedWriter writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+            writer.append(obj.toString());
+        }
+    }
+
+    // The file is read in the background, the commands are decoded on the JavaFX thread
+    void read(BiConsumer<List<ModelUserActionCommand>, List<ModelUserActionCommand>> onRead) {
+        if(!Files.exists(path))
+            return;
+        Thread reader = new Thread(() -> {
+            try {
+                JSONObject obj = readFile();
+                if(obj == null)
+                    return;
+                JSONArray undo = obj.getJSONArray("undo");
+                JSONArray redo = obj.getJSONArray("redo");
+                Platform.runLater(() -> onRead.accept(decode(undo), decode(redo)));
+            } catch (IOException | JSONException e) {
+                e.printStackTrace();
+            }
+        });
+        reader.setDaemon(true);
+        reader.start();
+    }
+
+    // null when the log was written for another version of the project file
+    JSONObject readFile() throws IOException {
+        JSONObject obj = new JSONObject(new String(Files.readAllBytes(path), StandardCharsets.UTF_8));
+        if(obj.getInt("version") != version || obj.getInt("projectHash") != projectHash)
+            return null;
+        return obj;
+    }
+
+    // the commands are in stack order (the next one to undo or redo first), each one with its user action
+    static JSONArray encode(Iterable<ModelUserActionCommand> commands, ToIntFunction<Object> ids) {
+        JSONArray result = new JSONArray();
+        List<JSONObject> userAction = new ArrayList<>();
+        long userActionId = HistoryState.noUserAction;
+        int userActions = 0;
+        for(ModelUserActionCommand c : commands) {
+            if(c.getUserActionIdentifier() != userActionId) {
+                userAction.forEach(result::put);
+                userAction.clear();
+                if(userActions++ == AppSettings.historySavedUserActions)
+                    return result;
+                userActionId = c.getUserActionIdentifier();
+            }
+            String type = c.getLogType();
+            if(type == null)
+                return result;
+            JSONObject obj = new JSONObject();
+            obj.put("type", type);
+            obj.put("userAction", userActionId);
+            try {
+                c.writeLog(new CommandLogEntry(obj, ids));
+            } catch (IllegalArgumentException e) {
+                return result;
+            }
+            userAction.add(obj);
+        }
+        userAction.forEach(result::put);
+        return result;
+    }
+
+    List<ModelUserActionCommand> decode(JSONArray commands) {
+        List<ModelUserActionCommand> result = new ArrayList<>();
+        List<ModelUserActionCommand> userAction = new ArrayList<>();
+        long userActionId = HistoryState.noUserAction;
+        for(int i = 0; i < commands.length(); i++) {
+            JSONObject obj = commands.getJSONObject(i);
+            try {
+                long id = obj.getLong("userAction");
+                if(id != userActionId) {
+                    result.addAll(userAction);
+                    userAction.clear();
+                    userActionId = id;
+                }
+                Function<CommandLogEntry, ModelUserActionCommand> decoder = decoders.get(obj.getString("type"));
+                if(decoder == null)
+                    return result;
+                ModelUserActionCommand c = decoder.apply(new CommandLogEntry(obj, models));
+                c.setUserActionIdentifier(userActionId);
+                userAction.add(c);
+            } catch (IllegalArgumentException | JSONException e) {
+                return result;
+            }
+        }
+        result.addAll(userAction);
+        return result;
+    }
+}
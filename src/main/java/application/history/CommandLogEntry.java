@@ -0,0 +1,64 @@
+package application.history;
+
+import org.json.JSONObject;
+
+import java.util.function.IntFunction;
+import java.util.function.ToIntFunction;
+
+// One command of the command log. Model objects are written as their id in the project file saved along with the log:
+// an object that is not in this file (e.g. a deleted moment) cannot be referenced, see CommandLog.
+public class CommandLogEntry {
+
+    private final JSONObject object;
+    private final ToIntFunction<Object> ids;
+    private final IntFunction<Object> models;
+
+    //Writing constructor
+    CommandLogEntry(JSONObject object, ToIntFunction<Object> ids) {
+        this.object = object;
+        this.ids = ids;
+        this.models = null;
+    }
+
+    //Reading constructor
+    CommandLogEntry(JSONObject object, IntFunction<Object> models) {
+        this.object = object;
+        this.ids = null;
+        this.models = models;
+    }
+
+    public void writeString(String name, String s) {
+        object.put(name, s == null ? JSONObject.NULL : s);
+    }
+
+    public String getString(String name) {
+        return object.isNull(name) ? null : object.getString(name);
+    }
+
+    public void writeInt(String name, int value) {
+        object.put(name, value);
+    }
+
+    public int getInt(String name) {
+        return object.getInt(name);
+    }
+
+    public void writeBoolean(String name, boolean b) {
+        object.put(name, b);
+    }
+
+    public boolean getBoolean(String name) {
+        return object.getBoolean(name);
+    }
+
+    public void writeReference(String name, Object model) {
+        object.put(name, ids.applyAsInt(model));
+    }
+
+    public <T> T getReference(String name, Class<T> type) {
+        Object model = models.apply(object.getInt(name));
+        if(!type.isInstance(model))
+            throw new IllegalArgumentException("The object with id = " + object.getInt(name) + " is not a " + type.getSimpleName() + " !");
+        return type.cast(model);
+    }
+}
@@ -3,31 +3,97 @@ package application.history;
 import application.appCommands.ApplicationCommandFactory;
 import javafx.beans.property.ReadOnlyBooleanProperty;
 
-import java.util.UUID;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.LongConsumer;
+import java.util.function.ToIntFunction;
 
 public class HistoryManager {
 
     private static ApplicationCommandFactory applicationCommandFactory;
     private static HistoryState state = new HistoryState();
+    private static CommandLog pendingLog;
+    // run before a user action is made, undone or redone (e.g. to apply what the previous one left pending)
+    private static final List<Runnable> beforeUserActionListeners = new ArrayList<>();
 
     public static void init(ApplicationCommandFactory applicationCommandFactory) { HistoryManager.applicationCommandFactory = applicationCommandFactory; }
 
+    public static void addBeforeUserActionListener(Runnable listener) { beforeUserActionListeners.add(listener); }
+
+    private static void beforeUserAction() { beforeUserActionListeners.forEach(Runnable::run); }
+
     public static void addCommand(ModelUserActionCommand cmd, boolean newModelUserActionCommand) {
+        if(newModelUserActionCommand && !state.inTransaction())
+            beforeUserAction();
         state.addCommand(cmd, newModelUserActionCommand);
-        applicationCommandFactory.projectSavingStatusChanged().execute();
+        if(!state.inTransaction())
+            applicationCommandFactory.projectSavingStatusChanged().execute();
+    }
+
+    /*
+    All the commands added by the operation make a single user action, whatever their newModelUserActionCommand argument.
+    Their AfterExecute hooks and the saving status notification are run once, when the outermost transaction is over.
+    If the operation throws, the commands it added are undone and forgotten, then the exception is rethrown.
+     */
+    public static void transaction(Runnable operation) {
+        if(!state.inTransaction())
+            beforeUserAction();
+        int marker = state.beginTransaction();
+        try {
+            operation.run();
+        } catch (RuntimeException | Error e) {
+            state.rollbackTransaction(marker);
+            throw e;
+        }
+        List<Runnable> hooks = state.commitTransaction();
+        if(!state.inTransaction()) {
+            hooks.forEach(Runnable::run);
+            applicationCommandFactory.projectSavingStatusChanged().execute();
+        }
     }
-    public static UUID getCurrentCommandId() { return state.getCurrentCommandId(); };
+    // the user actions are numbered, noUserAction when there is none
+    public static final long noUserAction = HistoryState.noUserAction;
+    public static long getCurrentCommandId() { return state.getCurrentCommandId(); };
+    public static long getCurrentUserActionId() { return state.getCurrentUserActionId(); }
 
     public static void goBack() {
+        beforeUserAction();
         state.unexecuteUserAction();
         applicationCommandFactory.projectSavingStatusChanged().execute();
     }
     public static void goForward() {
+        beforeUserAction();
         state.executeUserAction();
         applicationCommandFactory.projectSavingStatusChanged().execute();
     }
 
-    public static void clearActionStack() { state.clear(); }
+    public static void clearActionStack() {
+        pendingLog = null;
+        state.clear();
+    }
+
+    // Saves the most recent user actions next to the project file, see CommandLog
+    public static void saveLog(String projectPath, int projectHash, ToIntFunction<Object> ids) throws IOException {
+        CommandLog.write(state, projectPath, projectHash, ids);
+    }
+
+    // The log is read in the background: the project is usable meanwhile.
+    // onRestored gets the current user action when the history is the one of the saved project.
+    public static void restoreLater(CommandLog log, LongConsumer onRestored) {
+        pendingLog = log;
+        if(log == null)
+            return;
+        log.read((undo, redo) -> {
+            // another project may have been opened meanwhile
+            if(pendingLog != log)
+                return;
+            pendingLog = null;
+            if(state.restore(undo, redo))
+                onRestored.accept(state.getCurrentCommandId());
+            applicationCommandFactory.projectSavingStatusChanged().execute();
+        });
+    }
 
     public static ReadOnlyBooleanProperty canGoBackProperty() { return state.canGoBackProperty(); }
     public static ReadOnlyBooleanProperty canGoForwardProperty() { return state.canGoForwardProperty(); }
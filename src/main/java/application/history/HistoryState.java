@@ -1,85 +1,187 @@
 package application.history;
 
+import application.configuration.AppSettings;
 import javafx.beans.property.ReadOnlyBooleanProperty;
 import javafx.beans.property.ReadOnlyBooleanWrapper;
 
-import java.util.Stack;
-import java.util.UUID;
+import java.util.*;
 
 public class HistoryState {
 
-    private Stack<ModelUserActionCommand> previous;
-    private Stack<ModelUserActionCommand> next;
-    private UUID currentUserActionId;
+    // successive commands on the same element are merged when they are closer than this (e.g. while typing)
+    private static final long mergeDelay = 2000;
+
+    private Deque<ModelUserActionCommand> previous;
+    private Deque<ModelUserActionCommand> next;
+    // user actions are numbered in sequence, the numbers are never reused (e.g. after a project switch)
+    static final long noUserAction = 0;
+    private long lastUserActionId = noUserAction;
+    private long currentUserActionId = noUserAction;
+
+    // size of the undo history, which is bounded by the app settings: the oldest user actions are forgotten
+    private int previousUserActions = 0;
+    private long previousBytes = 0;
 
     private ReadOnlyBooleanWrapper canGoBack;
     private ReadOnlyBooleanWrapper canGoForward;
 
     private boolean userMadeAnAction = false;
 
+    // Commands added during a transaction make a single user action, their AfterExecute hooks are run at commit
+    private int transactionDepth = 0;
+    private int transactionCommands = 0;
+    private final List<Runnable> deferredHooks = new ArrayList<>();
+
     HistoryState() {
-        previous = new Stack<ModelUserActionCommand>();
-        next = new Stack<ModelUserActionCommand>();
+        previous = new ArrayDeque<>();
+        next = new ArrayDeque<>();
         canGoBack = new ReadOnlyBooleanWrapper(false);
         canGoForward = new ReadOnlyBooleanWrapper(false);
     }
 
     void addCommand(ModelUserActionCommand command, boolean startNewUserAction) {
+        if(inTransaction())
+            startNewUserAction = transactionCommands == 0;
         if(startNewUserAction) {
             userMadeAnAction = true;
-            currentUserActionId = UUID.randomUUID();
+            currentUserActionId = ++lastUserActionId;
         }
 
         command.setUserActionIdentifier(currentUserActionId);
-        next.removeAllElements();
-        canGoForward.set(false);
+        command.setAddedTime(System.currentTimeMillis());
+        next.clear();
         next.push(command);
         executeSingleAction();
+        if(inTransaction())
+            transactionCommands++;
+
+        if(startNewUserAction && !inTransaction())
+            mergeWithPreviousUserAction();
+        forgetOldestUserActions();
+        if(!inTransaction())
+            updateProperties();
     }
 
+    boolean inTransaction() { return transactionDepth > 0; }
+
+    // returns the marker to give back to rollbackTransaction (transactions can be nested)
+    int beginTransaction() {
+        transactionDepth++;
+        return transactionCommands;
+    }
+
+    // returns the hooks to run when the outermost transaction is over
+    List<Runnable> commitTransaction() {
+        if(--transactionDepth > 0)
+            return Collections.emptyList();
+        transactionCommands = 0;
+        List<Runnable> hooks = new ArrayList<>(deferredHooks);
+        deferredHooks.clear();
+        updateProperties();
+        return hooks;
+    }
+
+    // Undoes the commands added since the marker, and forgets them (the redo stack was already cleared by the first one)
+    void rollbackTransaction(int marker) {
+        while(transactionCommands > marker && !previous.isEmpty()) {
+            popPrevious().undo();
+            transactionCommands--;
+        }
+        transactionCommands = marker;
+        if(deferredHooks.size() > marker)
+            deferredHooks.subList(marker, deferredHooks.size()).clear();
+        if(--transactionDepth == 0) {
+            transactionCommands = 0;
+            deferredHooks.clear();
+        }
+        currentUserActionId = getCurrentCommandId();
+        updateProperties();
+    }
+
+    // the properties are updated once the whole user action is executed or undone
     void executeUserAction() {
-        if(canGoForward()){
+        if(!next.isEmpty()) {
             currentUserActionId = next.peek().getUserActionIdentifier();
-            boolean keepExecuting;
             do {
                 executeSingleAction();
-                keepExecuting = canGoForward() && next.peek().getUserActionIdentifier() == currentUserActionId;
-            } while(keepExecuting);
+            } while(!next.isEmpty() && next.peek().getUserActionIdentifier() == currentUserActionId);
+            updateProperties();
         }
     }
 
     void unexecuteUserAction() {
-        if(canGoBack()){
+        if(userMadeAnAction && !previous.isEmpty()) {
             currentUserActionId = previous.peek().getUserActionIdentifier();
-            boolean keepUnexecuting;
             do {
                 unexecuteSingleAction();
-                keepUnexecuting = canGoBack() && previous.peek().getUserActionIdentifier() == currentUserActionId;
-            } while(keepUnexecuting);
+            } while(!previous.isEmpty() && previous.peek().getUserActionIdentifier() == currentUserActionId);
+            updateProperties();
         }
     }
 
     void clear() {
-        currentUserActionId = null;
+        currentUserActionId = noUserAction;
         previous.clear();
         next.clear();
+        previousUserActions = 0;
+        previousBytes = 0;
         canGoBack.set(false);
         canGoForward.set(false);
     }
 
+    // Puts back the user actions read from the command log (in stack order), before the ones made since the project was opened.
+    // The redo stack is only restored when nothing was done since. Returns true in this case.
+    boolean restore(List<ModelUserActionCommand> undo, List<ModelUserActionCommand> redo) {
+        boolean untouched = previous.isEmpty() && next.isEmpty();
+        renumber(undo);
+        renumber(redo);
+        long last = noUserAction;
+        for(ModelUserActionCommand c : undo) {
+            if(c.getUserActionIdentifier() != last)
+                previousUserActions++;
+            last = c.getUserActionIdentifier();
+            c.setHistorySize(c.estimatedSize());
+            previousBytes += c.getHistorySize();
+            previous.addLast(c);
+        }
+        if(untouched) {
+            for(int i = redo.size() - 1; i >= 0; i--)
+                next.push(redo.get(i));
+            currentUserActionId = getCurrentCommandId();
+        }
+        userMadeAnAction |= !undo.isEmpty();
+        forgetOldestUserActions();
+        updateProperties();
+        return untouched;
+    }
+
+    // the user actions read from the log get new numbers, in the same order
+    private void renumber(List<ModelUserActionCommand> commands) {
+        long fileId = noUserAction;
+        for(int i = commands.size() - 1; i >= 0; i--) {
+            ModelUserActionCommand c = commands.get(i);
+            if(i == commands.size() - 1 || c.getUserActionIdentifier() != fileId) {
+                fileId = c.getUserActionIdentifier();
+                ++lastUserActionId;
+            }
+            c.setUserActionIdentifier(lastUserActionId);
+        }
+    }
+
+    Iterable<ModelUserActionCommand> undoCommands() { return previous; }
+    Iterable<ModelUserActionCommand> redoCommands() { return next; }
+
     ReadOnlyBooleanProperty canGoBackProperty() { return canGoBack.getReadOnlyProperty(); }
     ReadOnlyBooleanProperty canGoForwardProperty() { return canGoForward.getReadOnlyProperty(); }
 
-    UUID getCurrentCommandId() { return previous.size() > 0 ? previous.peek().getUserActionIdentifier() : null; };
+    // the user action being executed, undone or redone (or the last one)
+    long getCurrentUserActionId() { return currentUserActionId; }
 
-    private boolean canGoBack() {
-        canGoBack.set(userMadeAnAction && previous.size() > 0);
-        return canGoBack.get();
-    }
+    long getCurrentCommandId() { return previous.size() > 0 ? previous.peek().getUserActionIdentifier() : noUserAction; };
 
-    private boolean canGoForward() {
-        canGoForward.set(next.size() > 0);
-        return canGoForward.get();
+    private void updateProperties() {
+        canGoBack.set(userMadeAnAction && !previous.isEmpty());
+        canGoForward.set(!next.isEmpty());
     }
 
     private void executeSingleAction() {
@@ -87,18 +189,71 @@ public class HistoryState {
         //System.out.println("ExecuteSingleAction" + " " + c + " " + c.getUserActionIdentifier());
         c.hooks().runHook(ModelUserActionCommandHooks.HookMoment.BeforeExecute);
         c.execute();
-        c.hooks().runHook(ModelUserActionCommandHooks.HookMoment.AfterExecute);
-        previous.push(c);
-        canGoBack.set(userMadeAnAction);
+        if(inTransaction())
+            deferredHooks.add(() -> c.hooks().runHook(ModelUserActionCommandHooks.HookMoment.AfterExecute));
+        else
+            c.hooks().runHook(ModelUserActionCommandHooks.HookMoment.AfterExecute);
+        pushPrevious(c);
     }
 
     private void unexecuteSingleAction() {
-        ModelUserActionCommand c = previous.pop();
+        ModelUserActionCommand c = popPrevious();
         //System.out.println("unexecuteSingleAction" + " " + c + " " + c.getUserActionIdentifier());
         c.hooks().runHook(ModelUserActionCommandHooks.HookMoment.BeforeUndo);
         c.undo();
         c.hooks().runHook(ModelUserActionCommandHooks.HookMoment.AfterUndo);
         next.push(c);
-        canGoForward.set(true);
+    }
+
+    private void pushPrevious(ModelUserActionCommand c) {
+        if(previous.isEmpty() || previous.peek().getUserActionIdentifier() != c.getUserActionIdentifier())
+            previousUserActions++;
+        c.setHistorySize(c.estimatedSize());
+        previousBytes += c.getHistorySize();
+        previous.push(c);
+    }
+
+    private ModelUserActionCommand popPrevious() {
+        ModelUserActionCommand c = previous.pop();
+        previousBytes -= c.getHistorySize();
+        if(previous.isEmpty() || previous.peek().getUserActionIdentifier() != c.getUserActionIdentifier())
+            previousUserActions--;
+        return c;
+    }
+
+    // The new user action is made of a single command that continues the previous user action,
+    // also made of a single command (e.g. the same moment renamed twice): they are undone together.
+    private void mergeWithPreviousUserAction() {
+        if(previous.size() < 2)
+            return;
+        Iterator<ModelUserActionCommand> commands = previous.iterator();
+        ModelUserActionCommand last = commands.next();
+        ModelUserActionCommand before = commands.next();
+        ModelUserActionCommand beforeBefore = commands.hasNext() ? commands.next() : null;
+        if(beforeBefore != null && beforeBefore.getUserActionIdentifier() == before.getUserActionIdentifier())
+            return;
+        if(last.getAddedTime() - before.getAddedTime() > mergeDelay || !before.absorb(last))
+            return;
+
+        popPrevious();
+        popPrevious();
+        // undoing the merged command must run the hooks of the last one (e.g. with the last value)
+        before.hooks().setUndoHooks(last.hooks());
+        // it gets the new identifier, so the project is still seen as modified since its last save
+        before.setUserActionIdentifier(last.getUserActionIdentifier());
+        before.setAddedTime(last.getAddedTime());
+        pushPrevious(before);
+    }
+
+    private void forgetOldestUserActions() {
+        long maxBytes = (long) AppSettings.historyMaxMegabytes * 1024 * 1024;
+        while(previousUserActions > 1 && (
+                (AppSettings.historyMaxUserActions > 0 && previousUserActions > AppSettings.historyMaxUserActions)
+                || (maxBytes > 0 && previousBytes > maxBytes))) {
+            long oldest = previous.peekLast().getUserActionIdentifier();
+            while(!previous.isEmpty() && previous.peekLast().getUserActionIdentifier() == oldest)
+                previousBytes -= previous.removeLast().getHistorySize();
+            previousUserActions--;
+        }
     }
 }
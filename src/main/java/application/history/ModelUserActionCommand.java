@@ -1,17 +1,52 @@
 package application.history;
 
+import models.ConcreteCategory;
+import models.Moment;
+import models.RootMoment;
 import utils.command.Undoable;
-import java.util.UUID;
 
 public abstract class ModelUserActionCommand<ExecuteResult, UndoResult> implements Undoable<ExecuteResult, UndoResult> {
-    UUID userActionIdentifier;
+    long userActionIdentifier;
     private ModelUserActionCommandHooks hooks;
+    private long addedTime;
+    private long historySize;
 
     public ModelUserActionCommand() {
         hooks = new ModelUserActionCommandHooks();
     }
 
-    void setUserActionIdentifier(UUID id) { userActionIdentifier = id;}
-    UUID getUserActionIdentifier() { return userActionIdentifier; }
+    void setUserActionIdentifier(long id) { userActionIdentifier = id;}
+    long getUserActionIdentifier() { return userActionIdentifier; }
     public ModelUserActionCommandHooks hooks() { return hooks; }
+
+    void setAddedTime(long time) { addedTime = time; }
+    long getAddedTime() { return addedTime; }
+    void setHistorySize(long size) { historySize = size; }
+    long getHistorySize() { return historySize; }
+
+    // Rough number of bytes this command keeps alive while it is in the history
+    // (e.g. a deleted moment and its sub-moments)
+    protected long estimatedSize() { return 100; }
+
+    // Takes the effect of the next command on the same element (e.g. a second rename),
+    // so that both are undone at once. Returns false when they cannot be merged.
+    protected boolean absorb(ModelUserActionCommand next) { return false; }
+
+    // Name of the command in the command log saved with the project, null when it cannot be saved.
+    // Commands that can be saved also have a constructor taking a CommandLogEntry, see CommandLog.
+    protected String getLogType() { return null; }
+    protected void writeLog(CommandLogEntry entry) {}
+
+    protected static long estimatedSize(RootMoment moment) {
+        long size = 200;
+        if(moment instanceof Moment) {
+            Moment m = (Moment) moment;
+            size += 100 * m.getJustification().descriptemesProperty().size();
+            for(ConcreteCategory category : m.concreteCategoriesProperty())
+                size += 200 + 100 * category.getJustification().descriptemesProperty().size() + 150 * category.propertiesProperty().size();
+        }
+        for(Moment child : moment.momentsProperty())
+            size += estimatedSize(child);
+        return size;
+    }
 }
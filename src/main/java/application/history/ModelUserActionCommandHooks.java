@@ -15,6 +15,16 @@ public class ModelUserActionCommandHooks {
         hooks.put(moment, runnable);
     }
 
+    // used when two commands are merged: undoing the result must run the undo hooks of the last one
+    void setUndoHooks(ModelUserActionCommandHooks other) {
+        for(HookMoment moment : new HookMoment[] { HookMoment.BeforeUndo, HookMoment.AfterUndo }) {
+            if(other.hooks.containsKey(moment))
+                hooks.put(moment, other.hooks.get(moment));
+            else
+                hooks.remove(moment);
+        }
+    }
+
     public void runHook(HookMoment moment) {
         if(hooks.containsKey(moment))
             hooks.get(moment).run();
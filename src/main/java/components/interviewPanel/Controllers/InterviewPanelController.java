@@ -3,6 +3,8 @@ package components.interviewPanel.Controllers;
 import application.configuration.Configuration;
 import javafx.beans.value.ChangeListener;
 import javafx.beans.value.ObservableValue;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
 import javafx.fxml.FXML;
 import javafx.fxml.FXMLLoader;
 import javafx.fxml.Initializable;
@@ -17,6 +19,9 @@ import models.Interview;
 
 import java.io.IOException;
 import java.net.URL;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.ResourceBundle;
 
 public class InterviewPanelController implements Initializable {
@@ -32,14 +37,38 @@ public class InterviewPanelController implements Initializable {
     private final SplitPane mainSplitPane;
 
     private final ObservableValue<Interview> interview;
+    private final ObservableList<Interview> interviews;
     private final ChangeListener<Interview> interviewChangeListener;
     private ChangeListener<String> titleChangeListener;
     private ChangeListener<String> commentChangeListener;
     private Node interviewTextController;
 
-    public InterviewPanelController(ObservableValue<Interview> interview, SplitPane mainSplitPane) {
+    // The text panels of the last displayed interviews are kept, so that switching back to one of them
+    // doesn't rebuild its text area and its styles
+    private static final int INTERVIEW_TEXT_CACHE_SIZE = 5;
+    private final Map<Interview, InterviewTextController> interviewTextControllers = new LinkedHashMap<Interview, InterviewTextController>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Interview, InterviewTextController> eldest) {
+            if (size() > INTERVIEW_TEXT_CACHE_SIZE) {
+                eldest.getValue().unbind();
+                interviewTextNodes.remove(eldest.getKey());
+                return true;
+            }
+            return false;
+        }
+    };
+    private final Map<Interview, Node> interviewTextNodes = new HashMap<>();
+
+    // the text panel of a deleted interview is released at once, not when it gets out of the cache
+    private final ListChangeListener<Interview> interviewsChangeListener = change -> {
+        while (change.next())
+            change.getRemoved().forEach(this::evictInterviewText);
+    };
+
+    public InterviewPanelController(ObservableValue<Interview> interview, ObservableList<Interview> interviews, SplitPane mainSplitPane) {
         this.mainSplitPane = mainSplitPane;
         this.interview = interview;
+        this.interviews = interviews;
 
         this.interviewChangeListener = (observable, oldValue, newValue) -> {
             if (newValue != null) {
@@ -102,6 +131,7 @@ public class InterviewPanelController implements Initializable {
 
     private void bind() {
         interview.addListener(interviewChangeListener);
+        interviews.addListener(interviewsChangeListener);
         if (interview.getValue() != null) {
             interview.getValue().commentProperty().addListener(commentChangeListener);
             interview.getValue().titleProperty().addListener(titleChangeListener);
@@ -110,8 +140,39 @@ public class InterviewPanelController implements Initializable {
 
     public void unbind() {
         interview.removeListener(interviewChangeListener);
-        interview.getValue().commentProperty().removeListener(commentChangeListener);
-        interview.getValue().titleProperty().removeListener(titleChangeListener);
+        interviews.removeListener(interviewsChangeListener);
+        if (interview.getValue() != null) {
+            interview.getValue().commentProperty().removeListener(commentChangeListener);
+            interview.getValue().titleProperty().removeListener(titleChangeListener);
+        }
+        interviewTextControllers.values().forEach(InterviewTextController::unbind);
+        interviewTextControllers.clear();
+        interviewTextNodes.clear();
+    }
+
+    private void evictInterviewText(Interview removed) {
+        InterviewTextController controller = interviewTextControllers.remove(removed);
+        if (controller == null)
+            return;
+        controller.unbind();
+        Node node = interviewTextNodes.remove(removed);
+        if (node == interviewTextController) {
+            interviewTextController = null;
+            container.setCenter(null);
+        }
+    }
+
+    private Node getInterviewTextNode(Interview interview) {
+        InterviewTextController controller = interviewTextControllers.get(interview);
+        if (controller != null) {
+            controller.refreshDescriptemes();
+            return interviewTextNodes.get(interview);
+        }
+        controller = new InterviewTextController(interview);
+        Node node = InterviewTextController.createInterviewTextController(controller);
+        interviewTextNodes.put(interview, node);
+        interviewTextControllers.put(interview, controller);
+        return node;
     }
 
     private void refreshContent(Interview newInterview) {
@@ -120,7 +181,7 @@ public class InterviewPanelController implements Initializable {
                 textInterviewTitle.setText(newInterview.getTitle());
                 textInterviewComment.setText(newInterview.getComment());
                 textInterviewComment.setVisible(true);
-                interviewTextController = InterviewTextController.createInterviewTextController(interview.getValue());
+                interviewTextController = getInterviewTextNode(newInterview);
                 container.setCenter(interviewTextController);
             }
             else {
@@ -46,12 +46,11 @@ public class InterviewTextController implements Initializable {
     private final Interview interview;
     private Pane paneDragText;
 
-    private InterviewTextController(Interview interview) {
+    public InterviewTextController(Interview interview) {
         this.interview = interview;
     }
 
-    public static Node createInterviewTextController(Interview interview) {
-        InterviewTextController controller = new InterviewTextController(interview);
+    public static Node createInterviewTextController(InterviewTextController controller) {
         try {
             FXMLLoader loader = new FXMLLoader();
             loader.setLocation(controller.getClass().getResource("/views/InterviewPanel/InterviewText.fxml"));
@@ -105,6 +104,11 @@ public class InterviewTextController implements Initializable {
         richTextAreaController.getUserSelection().addListener((change) -> toolBarController.getSelectedToolProperty().get()
                 .getTool().handle(richTextAreaController.getUserSelection().getValue()));
 
+        refreshDescriptemes();
+    }
+
+    // The descriptemes of the text depend on the displayed moments: called on creation and when the text is shown again
+    public void refreshDescriptemes() {
         Platform.runLater(() -> {
             // Initialize descriptemes
             interview.getInterviewText().getDescriptemesProperty().clear();
@@ -113,7 +117,10 @@ public class InterviewTextController implements Initializable {
                         interview.getInterviewText().addDescripteme(descripteme);
                     });
         });
+    }
 
+    public void unbind() {
+        richTextAreaController.unbind();
     }
 
     private void setupDragAndDrop() {
@@ -2,6 +2,7 @@ package components.interviewPanel.Controllers;
 
 import components.interviewPanel.ContextMenus.ContextMenuFactory;
 import javafx.application.Platform;
+import javafx.beans.InvalidationListener;
 import javafx.beans.property.SimpleObjectProperty;
 import javafx.beans.value.ChangeListener;
 import javafx.collections.ListChangeListener;
@@ -19,7 +20,10 @@ import org.fxmisc.richtext.event.MouseOverTextEvent;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
 
 import static utils.GlobalVariables.getGlobalVariables;
 
@@ -32,6 +36,15 @@ public class RichTextAreaController {
     private final HashSet<Moment> emphasizedMoments = new HashSet<>(); // used temporary when over a descripteme
     private ContextMenuFactory contextMenuFactory;
     private final List<AnnotationColor> annotationColorList;
+    private int pendingRestyleStart = -1;
+    private int pendingRestyleEnd = -1;
+    private VirtualizedScrollPane<InlineCssTextArea> node;
+
+    private final ListChangeListener<Annotation> onAnnotationsChange;
+    private final ListChangeListener<Descripteme> onDescriptemesChange;
+    private final InvalidationListener onDescriptemeChanged = observable -> this.updateDescripteme();
+    // to remove the listeners of a descripteme when it is removed or when the text area is discarded
+    private final Map<Descripteme, Runnable> descriptemeUnbinders = new IdentityHashMap<>();
 
     public RichTextAreaController(InterviewText interviewText, List<AnnotationColor> annotationColorList) {
         this.interviewText = interviewText;
@@ -47,13 +60,34 @@ public class RichTextAreaController {
         setUpClick();
         setUpPopUp();
 
+        // Two listeners that update the view (highlight and underline)
+        onAnnotationsChange = c -> {
+            while (c.next()) {
+                for (Annotation removed : c.getRemoved()) {
+                    requestRestyle(removed.getStartIndex(), removed.getEndIndex());
+                }
+                for (Annotation added : c.getAddedSubList()) {
+                    requestRestyle(added.getStartIndex(), added.getEndIndex());
+                }
+            }
+            area.deselect();
+        };
+        onDescriptemesChange = c -> {
+            while (c.next()) {
+                for (Descripteme removed : c.getRemoved()) {
+                    bindDescripteme(removed, false);
+                    applyStyle(removed.getStartIndex(), removed.getEndIndex());
+                    area.deselect();
+                }
+                for (Descripteme added : c.getAddedSubList()) {
+                    bindDescripteme(added, true);
+                    applyStyle(added.getStartIndex(), added.getEndIndex());
+                    area.deselect();
+                }
+            }
+        };
         bind();
 
-        // Watch for new descriptemes
-        getGlobalVariables()
-                .getDescriptemeChangedProperty()
-                .addListener(newValue -> this.updateDescripteme());
-
         // Initialize view annotation
         //interviewText.getAnnotationsProperty().forEach(annotation -> applyStyle(annotation.getStartIndex(), annotation.getEndIndex()));
         applyStyleInitialize();
@@ -96,34 +130,20 @@ public class RichTextAreaController {
     }
 
     public void bind() {
-        // Two listeners that update the view (highlight and underline)
-        this.interviewText.getAnnotationsProperty().addListener((ListChangeListener.Change<? extends Annotation> c) -> {
-            while (c.next()) {
-                for (Annotation removed : c.getRemoved()) {
-                    applyStyle(removed.getStartIndex(), removed.getEndIndex());
-                    area.deselect();
-                }
-                for (Annotation added : c.getAddedSubList()) {
-                    applyStyle(added.getStartIndex(), added.getEndIndex());
-                    area.deselect();
-                }
-            }
-        });
+        this.interviewText.getAnnotationsProperty().addListener(onAnnotationsChange);
+        this.interviewText.getDescriptemesProperty().addListener(onDescriptemesChange);
+        // Watch for new descriptemes
+        getGlobalVariables().getDescriptemeChangedProperty().addListener(onDescriptemeChanged);
+    }
 
-        this.interviewText.getDescriptemesProperty().addListener((ListChangeListener.Change<? extends Descripteme> c) -> {
-            while (c.next()) {
-                for (Descripteme removed : c.getRemoved()) {
-                    bindDescripteme(removed, false);
-                    applyStyle(removed.getStartIndex(), removed.getEndIndex());
-                    area.deselect();
-                }
-                for (Descripteme added : c.getAddedSubList()) {
-                    bindDescripteme(added, true);
-                    applyStyle(added.getStartIndex(), added.getEndIndex());
-                    area.deselect();
-                }
-            }
-        });
+    public void unbind() {
+        this.interviewText.getAnnotationsProperty().removeListener(onAnnotationsChange);
+        this.interviewText.getDescriptemesProperty().removeListener(onDescriptemesChange);
+        getGlobalVariables().getDescriptemeChangedProperty().removeListener(onDescriptemeChanged);
+        for (Runnable unbinder : descriptemeUnbinders.values()) {
+            unbinder.run();
+        }
+        descriptemeUnbinders.clear();
     }
 
     private void setUpPopUp() {
@@ -204,10 +224,53 @@ public class RichTextAreaController {
         });*/
     }
 
+    // Batched changes (e.g. a bulk annotation import) are restyled once, after the whole user action
+    private void requestRestyle(int start, int end) {
+        if (pendingRestyleStart == -1) {
+            pendingRestyleStart = start;
+            pendingRestyleEnd = end;
+            Platform.runLater(() -> {
+                int restyleStart = pendingRestyleStart;
+                int restyleEnd = pendingRestyleEnd;
+                pendingRestyleStart = pendingRestyleEnd = -1;
+                applyStyle(restyleStart, restyleEnd);
+            });
+        }
+        else {
+            pendingRestyleStart = Math.min(pendingRestyleStart, start);
+            pendingRestyleEnd = Math.max(pendingRestyleEnd, end);
+        }
+    }
+
     private void applyStyle(int start, int end) {
-        for (int i = start ; i < end ; i++) {
-            area.setStyle(i, i+1, getCSS(i));
+        start = Math.max(0, start);
+        end = Math.min(end, area.getLength());
+        if (start >= end)
+            return;
+
+        // The style can only change on an annotation or descripteme boundary:
+        // compute it once per run instead of once per character
+        TreeSet<Integer> boundaries = new TreeSet<>();
+        boundaries.add(end);
+        for (Annotation annotation : interviewText.getAnnotationsInRange(start, end)) {
+            addBoundaries(boundaries, annotation, start, end);
         }
+        for (Descripteme descripteme : interviewText.getDescriptemesProperty()) {
+            addBoundaries(boundaries, descripteme, start, end);
+        }
+
+        int runStart = start;
+        for (int runEnd : boundaries) {
+            area.setStyle(runStart, runEnd, getCSS(runStart));
+            runStart = runEnd;
+        }
+    }
+
+    private void addBoundaries(TreeSet<Integer> boundaries, Fragment fragment, int start, int end) {
+        if (fragment.getStartIndex() > start && fragment.getStartIndex() < end)
+            boundaries.add(fragment.getStartIndex());
+        if (fragment.getEndIndex() > start && fragment.getEndIndex() < end)
+            boundaries.add(fragment.getEndIndex());
     }
 
     private String getCSS(int i) {
@@ -282,12 +345,21 @@ public class RichTextAreaController {
             descripteme.endIndexProperty().addListener(listenerEndIndex);
             descripteme.getRevealedProperty().addListener(listenerRevealed);
             descripteme.getTriggerScrollReveal().addListener(listenerScrollToTrigger);
+            Runnable previous = descriptemeUnbinders.put(descripteme, () -> {
+                descripteme.startIndexProperty().removeListener(listenerStartIndex);
+                descripteme.endIndexProperty().removeListener(listenerEndIndex);
+                descripteme.getRevealedProperty().removeListener(listenerRevealed);
+                descripteme.getTriggerScrollReveal().removeListener(listenerScrollToTrigger);
+            });
+            if (previous != null) {
+                previous.run();
+            }
         }
         else {
-            descripteme.getRevealedProperty().removeListener(listenerStartIndex);
-            descripteme.getRevealedProperty().removeListener(listenerEndIndex);
-            descripteme.getRevealedProperty().removeListener(listenerRevealed);
-            descripteme.getTriggerScrollReveal().removeListener(listenerScrollToTrigger);
+            Runnable unbinder = descriptemeUnbinders.remove(descripteme);
+            if (unbinder != null) {
+                unbinder.run();
+            }
         }
     }
 
@@ -296,7 +368,10 @@ public class RichTextAreaController {
     }
 
     public VirtualizedScrollPane<InlineCssTextArea> getNode() {
-        return new VirtualizedScrollPane<>(area);
+        if (node == null) {
+            node = new VirtualizedScrollPane<>(area);
+        }
+        return node;
     }
 
     public SimpleObjectProperty<IndexRange> getUserSelection() {
@@ -0,0 +1,38 @@
+package components.interviewPanel.ModelCommands;
+
+import application.history.ModelUserActionCommand;
+import models.Annotation;
+import models.InterviewText;
+
+import java.util.List;
+
+public class ReplaceAnnotations extends ModelUserActionCommand<Void, Void> {
+    InterviewText interviewText;
+    List<Annotation> removed;
+    List<Annotation> added;
+
+    public ReplaceAnnotations(InterviewText i, List<Annotation> removed, List<Annotation> added) {
+        interviewText = i;
+        this.removed = removed;
+        this.added = added;
+    }
+
+    @Override
+    public Void execute() {
+        interviewText.removeAnnotations(removed);
+        interviewText.addAnnotations(added);
+        return null;
+    }
+
+    @Override
+    protected long estimatedSize() {
+        return 150L * (removed.size() + added.size());
+    }
+
+    @Override
+    public Void undo() {
+        interviewText.removeAnnotations(added);
+        interviewText.addAnnotations(removed);
+        return null;
+    }
+}
@@ -17,8 +17,10 @@ public class AddAnnotationCommand implements Executable<Void> {
 
     @Override
     public Void execute() {
-        Boolean newModelUserActionCommandExecuted = new EraseAnnotationCommand(interviewText, annotation.getIndexRange()).execute();
-        HistoryManager.addCommand(new AddAnnotation(interviewText, annotation), !newModelUserActionCommandExecuted);
+        HistoryManager.transaction(() -> {
+            new EraseAnnotationCommand(interviewText, annotation.getIndexRange()).execute();
+            HistoryManager.addCommand(new AddAnnotation(interviewText, annotation), true);
+        });
         return null;
     }
 }
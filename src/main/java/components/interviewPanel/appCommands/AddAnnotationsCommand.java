@@ -0,0 +1,138 @@
+package components.interviewPanel.appCommands;
+
+import application.history.HistoryManager;
+import components.interviewPanel.ModelCommands.ReplaceAnnotations;
+import models.Annotation;
+import models.InterviewText;
+import utils.command.Executable;
+
+import java.util.*;
+
+/*
+ * Applies a batch of annotations (e.g. coming from an automatic coder) as a single user action.
+ * The result is the same as executing one AddAnnotationCommand per annotation, in the given order:
+ * a later annotation overrides what is below it, existing annotations are split or removed.
+ */
+public class AddAnnotationsCommand implements Executable<Void> {
+    private final InterviewText interviewText;
+    private final List<Annotation> annotations;
+
+    public AddAnnotationsCommand(InterviewText i, Collection<Annotation> annotations) {
+        interviewText = i;
+        this.annotations = new ArrayList<>(annotations);
+    }
+
+    @Override
+    public Void execute() {
+        ReplaceAnnotations cmd = createReplaceAnnotations();
+        if (cmd != null)
+            HistoryManager.addCommand(cmd, true);
+        return null;
+    }
+
+    // The model command equivalent to the batch, null when it doesn't change anything
+    ReplaceAnnotations createReplaceAnnotations() {
+        List<Annotation> existing = new ArrayList<>(interviewText.getAnnotationsProperty());
+        List<Segment> segments = sweep(existing);
+
+        Set<Annotation> kept = Collections.newSetFromMap(new IdentityHashMap<>());
+        List<Annotation> added = new ArrayList<>();
+        for (Segment segment : segments) {
+            if (segment.isWholeSource()) {
+                if (segment.priority < 0)
+                    kept.add(segment.source);
+                else
+                    added.add(segment.source);
+            }
+            else {
+                added.add(new Annotation(interviewText, segment.start, segment.end, segment.source.getColor()));
+            }
+        }
+
+        List<Annotation> removed = new ArrayList<>();
+        for (Annotation annotation : existing) {
+            if (!kept.contains(annotation))
+                removed.add(annotation);
+        }
+
+        if (removed.isEmpty() && added.isEmpty())
+            return null;
+        return new ReplaceAnnotations(interviewText, removed, added);
+    }
+
+    // Sweep line over the boundaries of both the existing and the new annotations.
+    // Existing annotations get negative priorities, new ones their position in the batch:
+    // on each elementary interval, the visible annotation is the active one with the highest priority.
+    private List<Segment> sweep(List<Annotation> existing) {
+        Annotation[] sources = new Annotation[existing.size() + annotations.size()];
+        List<int[]> events = new ArrayList<>(); // {position, priority, +1 open / -1 close}
+        for (int i = 0; i < existing.size(); i++)
+            addEvents(events, sources, existing.get(i), -i - 1, existing.size());
+        for (int i = 0; i < annotations.size(); i++)
+            addEvents(events, sources, annotations.get(i), i, existing.size());
+        events.sort(Comparator.comparingInt(e -> e[0]));
+
+        List<Segment> segments = new ArrayList<>();
+        TreeSet<Integer> active = new TreeSet<>();
+        int e = 0;
+        while (e < events.size()) {
+            int position = events.get(e)[0];
+            while (e < events.size() && events.get(e)[0] == position) {
+                int[] event = events.get(e++);
+                if (event[2] > 0)
+                    active.add(event[1]);
+                else
+                    active.remove(event[1]);
+            }
+            if (!active.isEmpty() && e < events.size()) {
+                int priority = active.last();
+                Annotation source = sources[priority + existing.size()];
+                int next = events.get(e)[0];
+                Segment last = segments.isEmpty() ? null : segments.get(segments.size() - 1);
+                if (last != null && last.end == position && last.canBeMergedWith(priority, source))
+                    last.end = next;
+                else
+                    segments.add(new Segment(position, next, priority, source));
+            }
+        }
+        return segments;
+    }
+
+    private void addEvents(List<int[]> events, Annotation[] sources, Annotation annotation, int priority, int offset) {
+        sources[priority + offset] = annotation;
+        int start = Math.max(0, annotation.getStartIndex());
+        int end = Math.min(interviewText.getText().length(), annotation.getEndIndex());
+        if (start < end) {
+            events.add(new int[] { start, priority, 1 });
+            events.add(new int[] { end, priority, -1 });
+        }
+    }
+
+    private static class Segment {
+        int start, end, priority;
+        Annotation source;
+        boolean merged = false;
+
+        Segment(int start, int end, int priority, Annotation source) {
+            this.start = start;
+            this.end = end;
+            this.priority = priority;
+            this.source = source;
+        }
+
+        boolean canBeMergedWith(int otherPriority, Annotation otherSource) {
+            if (otherPriority == priority)
+                return true;
+            // contiguous pieces of new annotations with the same color become a single annotation
+            if (otherPriority >= 0 && priority >= 0 && otherSource.getColor().equals(source.getColor())) {
+                merged = true;
+                return true;
+            }
+            return false;
+        }
+
+        boolean isWholeSource() {
+            return !merged && source.getStartIndex() == start && source.getEndIndex() == end;
+        }
+    }
+}
@@ -1,13 +1,14 @@
 package components.interviewPanel.appCommands;
 
 import application.history.HistoryManager;
-import components.interviewPanel.ModelCommands.AddAnnotation;
+import components.interviewPanel.ModelCommands.ReplaceAnnotations;
 import javafx.scene.control.IndexRange;
 import models.Annotation;
 import models.InterviewText;
 import utils.command.Executable;
 
 import java.util.ArrayList;
+import java.util.List;
 
 public class EraseAnnotationCommand implements Executable<Boolean> {
     InterviewText interviewText;
@@ -21,60 +22,29 @@ public class EraseAnnotationCommand implements Executable<Boolean> {
     @Override
     public Boolean execute() {
         // return true if a new model user action command is executed
-        Boolean newModelUserActionCommandExecuted = false;
-        ArrayList<Annotation> annotationsInside = new ArrayList<>();
-        for (int i = indexRange.getStart() ; i < indexRange.getEnd() ; i++) {
-            Annotation annotation = interviewText.getAnnotationByIndex(i);
-            if (annotation != null && !annotationsInside.contains(annotation)) {
-                annotationsInside.add(annotation);
-                if (indexRange.getStart() <= annotation.getStartIndex()
-                        && indexRange.getEnd() >= annotation.getEndIndex()) {
-                    // the annotation is completely contained in the selection
-                    new RemoveAnnotationCommand(interviewText, annotation, !newModelUserActionCommandExecuted).execute();
-                    newModelUserActionCommandExecuted = true;
-                }
-
-                else if (indexRange.getStart() <= annotation.getStartIndex()
-                        && indexRange.getEnd() < annotation.getEndIndex()) {
-                    // the selection is over the beginning of the annotation
-                    new RemoveAnnotationCommand(interviewText, annotation, !newModelUserActionCommandExecuted).execute();
-                    newModelUserActionCommandExecuted = true;
-                    HistoryManager.addCommand(new AddAnnotation(interviewText, new Annotation(
-                            interviewText,
-                            indexRange.getEnd(),
-                            annotation.getEndIndex(),
-                            annotation.getColor())), false);
-                }
-                else if (indexRange.getStart() > annotation.getStartIndex()
-                        && indexRange.getEnd() >= annotation.getEndIndex()) {
-                    // the selection is over the end of the annotation
-                    new RemoveAnnotationCommand(interviewText, annotation, !newModelUserActionCommandExecuted).execute();
-                    newModelUserActionCommandExecuted = true;
-                    HistoryManager.addCommand(new AddAnnotation(interviewText, new Annotation(
-                            interviewText,
-                            annotation.getStartIndex(),
-                            indexRange.getStart(),
-                            annotation.getColor())), false);
-                }
+        int start = indexRange.getStart();
+        int end = indexRange.getEnd();
+        List<Annotation> annotationsInside = interviewText.getAnnotationsInRange(start, end);
+        if (annotationsInside.isEmpty()) {
+            return false;
+        }
 
-                else if (indexRange.getStart() > annotation.getStartIndex()
-                        && indexRange.getEnd() < annotation.getEndIndex()) {
-                    // the selection is inside the annotation
-                    new RemoveAnnotationCommand(interviewText, annotation, !newModelUserActionCommandExecuted).execute();
-                    newModelUserActionCommandExecuted = true;
-                    HistoryManager.addCommand(new AddAnnotation(interviewText, new Annotation(
-                            interviewText,
-                            annotation.getStartIndex(),
-                            indexRange.getStart(),
-                            annotation.getColor())), false);
-                    HistoryManager.addCommand(new AddAnnotation(interviewText, new Annotation(
-                            interviewText,
-                            indexRange.getEnd(),
-                            annotation.getEndIndex(),
-                            annotation.getColor())), false);
-                }
+        List<Annotation> remainingParts = new ArrayList<>();
+        for (Annotation annotation : annotationsInside) {
+            if (start <= annotation.getStartIndex() && end >= annotation.getEndIndex()) {
+                // the annotation is completely contained in the selection
+                continue;
+            }
+            if (start > annotation.getStartIndex()) {
+                // the selection is over the end of the annotation, or inside it: keep the beginning
+                remainingParts.add(new Annotation(interviewText, annotation.getStartIndex(), start, annotation.getColor()));
+            }
+            if (end < annotation.getEndIndex()) {
+                // the selection is over the beginning of the annotation, or inside it: keep the end
+                remainingParts.add(new Annotation(interviewText, end, annotation.getEndIndex(), annotation.getColor()));
             }
         }
-        return newModelUserActionCommandExecuted;
+        HistoryManager.addCommand(new ReplaceAnnotations(interviewText, annotationsInside, remainingParts), true);
+        return true;
     }
 }
@@ -8,6 +8,8 @@ import models.AnnotationColor;
 import models.Descripteme;
 import models.InterviewText;
 
+import java.util.Collection;
+
 public class InterviewTextCommandFactory {
     InterviewTextController interviewTextController;
     RichTextAreaController richTextAreaController;
@@ -29,6 +31,10 @@ public class InterviewTextCommandFactory {
                         annotationColor.getColor()));
     }
 
+    public AddAnnotationsCommand getAddAnnotationsCommand(Collection<Annotation> annotations) {
+        return new AddAnnotationsCommand(interviewText, annotations);
+    }
+
     public DragSelectionCommand getDragSelectionCommand(IndexRange indexRange) {
         return new DragSelectionCommand(interviewTextController, richTextAreaController, indexRange);
     }
@@ -30,6 +30,11 @@ public class DeleteInterviewCommand extends ModelUserActionCommand<Void, Void> {
         return null;
     }
 
+    @Override
+    protected long estimatedSize() {
+        return 2L * interview.getInterviewText().getText().length() + estimatedSize(interview.getRootMoment());
+    }
+
     @Override
     public Void undo() {
         project.addInterview(interview);
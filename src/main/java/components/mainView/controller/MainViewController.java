@@ -26,6 +26,7 @@ import components.templateSpace.controllers.TemplateSpaceController;
 import javafx.scene.layout.HBox;
 import models.Project;
 import models.Interview;
+import utils.GlobalVariables;
 import components.modelisationSpace.controllers.ModelisationSpaceController;
 import components.schemaTree.Controllers.SchemaTreeController;
 import components.interviewPanel.Controllers.InterviewPanelController;
@@ -91,6 +92,8 @@ public class MainViewController implements Initializable {
 	}
 
 	private void refreshContent() {
+		GlobalVariables.getGlobalVariables().setProject(project);
+
 		//Set SchemaTree view
 		leftPane.getItems().add(SchemaTreeController.createSchemaTree(project.getSchemaTreeRoot()));
 
@@ -104,7 +107,7 @@ public class MainViewController implements Initializable {
 		//Set the interview panel
 		if(interviewPanel != null)
 			interviewPanel.unbind();
-		interviewPanel = new InterviewPanelController(project.selectedInterviewProperty(), mainSplitPane);
+		interviewPanel = new InterviewPanelController(project.selectedInterviewProperty(), project.interviewsProperty(), mainSplitPane);
 		paneOfTextArea.getItems().add(InterviewPanelController.createInterviewPanel(interviewPanel));
 
 		interviewSelectorCommandfactory.selectCurrentInterview(project.getSelectedInterview(), false).execute();
@@ -2,14 +2,19 @@ package components.modelisationSpace.appCommand;
 
 import javafx.scene.Node;
 import javafx.scene.control.ScrollPane;
+import utils.scrollOnDragPane.ViewportLoader;
 
 public class ScrollPaneCommandFactory {
 
     private ScrollPane pane;
+    private ViewportLoader viewportLoader;
 
     public ScrollPaneCommandFactory(ScrollPane pane) {
         this.pane = pane;
+        this.viewportLoader = new ViewportLoader(pane);
     }
 
+    public ViewportLoader getViewportLoader() { return viewportLoader; }
+
     public ScrollToNodeCommand scrollToNode(Node node) { return new ScrollToNodeCommand(pane, node); }
 }
@@ -27,6 +27,7 @@ import javafx.scene.layout.VBox;
 import javafx.util.Duration;
 import utils.dragAndDrop.DragStore;
 import utils.modelControllers.ListView.ListView;
+import utils.modelControllers.ListenerScope;
 import utils.modelControllers.ListView.ListViewController;
 import utils.modelControllers.ListView.ListViewUpdate;
 
@@ -41,6 +42,7 @@ public class ConcreteCategoryController extends ListViewController<ConcreteCateg
     private ConcreteCategory category;
     private JustificationController justificationController;
     private ListView<ConcreteProperty, ConcretePropertyController> properties;
+    private final ListenerScope listeners = new ListenerScope();
 
     @FXML private BorderPane container;
     @FXML private Label name;
@@ -67,7 +69,7 @@ public class ConcreteCategoryController extends ListViewController<ConcreteCateg
 
     @Override
     public void initialize(URL url, ResourceBundle resourceBundle) {
-        name.textProperty().bind(category.nameProperty());
+        listeners.bind(name.textProperty(), category.nameProperty());
         VBox justif = (VBox)JustificationController.createJustificationArea(justificationController);
         justif.setPadding(new Insets(0, 0, 0, 10));
         container.setCenter(justif);
@@ -84,6 +86,8 @@ public class ConcreteCategoryController extends ListViewController<ConcreteCateg
                 ConcretePropertyController::create,
                 propertiesContainer
         );
+        listeners.onRelease(properties::onUnmount);
+        listeners.onRelease(justificationController::onUnmount);
 
         setupDragAndDrop();
     }
@@ -174,7 +178,7 @@ public class ConcreteCategoryController extends ListViewController<ConcreteCateg
 
     @Override
     public void onUnmount() {
-
+        listeners.release();
     }
 
 
@@ -52,6 +52,11 @@ public class ModelisationSpaceController extends ScrollOnDragPane implements Ini
     public void initialize(URL location, ResourceBundle resources) {
         super.initialize(location, resources);
         paneCmdFactory = new ScrollPaneCommandFactory(superPane);
+        // added once: a listener per selected interview would never be removed
+        AppSettings.zoomLevelProperty.addListener((l) -> {
+            double ratio = AppSettings.zoomLevelProperty.getValue() * 0.01;
+            anchorPane.getTransforms().setAll(new Scale(ratio, ratio,0, 0));
+        });
         setupDragAndDrop();
     }
 
@@ -65,16 +70,13 @@ public class ModelisationSpaceController extends ScrollOnDragPane implements Ini
             superPane.setContent(anchorPane);
             double r = AppSettings.zoomLevelProperty.getValue() * 0.01;
             anchorPane.getTransforms().setAll(new Scale(r, r,0, 0));
-            AppSettings.zoomLevelProperty.addListener((l) -> {
-                double ratio = AppSettings.zoomLevelProperty.getValue() * 0.01;
-                anchorPane.getTransforms().setAll(new Scale(ratio, ratio,0, 0));
-            });
         }
     }
 
     public void clearSpace() {
         if(rmController != null)
             rmController.unmount();
+        paneCmdFactory.getViewportLoader().clear();
         superPane.setContent(null);
     }
 
@@ -58,6 +58,12 @@ public class JustificationController implements Initializable {
         );
     }
 
+    public void onUnmount() {
+        if (descriptemes != null)
+            descriptemes.onUnmount();
+        descriptemes = null;
+    }
+
     public boolean acceptDescripteme(Descripteme d) {
         return justification.indexOf(DragStore.getDraggable()) == -1;
     }
@@ -0,0 +1,21 @@
+package components.modelisationSpace.moment;
+
+import models.Moment;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+ * Moments copied by the user. They are stored as copies, so that they can be pasted as they were
+ * when they were copied, in any interview.
+ */
+public class MomentClipboard {
+
+    private static List<Moment> moments = new ArrayList<>();
+
+    public static void set(List<Moment> copies) { moments = new ArrayList<>(copies); }
+
+    public static List<Moment> get() { return moments; }
+
+    public static boolean isEmpty() { return moments.isEmpty(); }
+}
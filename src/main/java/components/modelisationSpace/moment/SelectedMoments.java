@@ -0,0 +1,40 @@
+package components.modelisationSpace.moment;
+
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import models.Moment;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+ * Moments selected with a shortcut click, in the order they were selected. The moment menu and the moment
+ * drag and drop act on all of them when they are used on one of the selected moments.
+ * A moment leaves the selection when its controller is unmounted (deleted, moved or another interview displayed).
+ */
+public class SelectedMoments {
+
+    private static final ObservableList<Moment> moments = FXCollections.observableArrayList();
+    private static final ObservableList<Moment> readOnlyMoments = FXCollections.unmodifiableObservableList(moments);
+
+    public static ObservableList<Moment> get() { return readOnlyMoments; }
+
+    public static void toggle(Moment m) {
+        if (!moments.remove(m))
+            moments.add(m);
+    }
+
+    public static void remove(Moment m) { moments.remove(m); }
+
+    public static void clear() { moments.clear(); }
+
+    // the moments to act on when the user acts on m: the selection if m is part of it, m alone otherwise
+    public static List<Moment> including(Moment m) {
+        List<Moment> result = new ArrayList<>();
+        if (moments.contains(m))
+            result.addAll(moments);
+        else
+            result.add(m);
+        return result;
+    }
+}
@@ -0,0 +1,27 @@
+package components.modelisationSpace.moment.appCommands;
+
+import components.modelisationSpace.moment.MomentClipboard;
+import models.Moment;
+import models.MomentCopier;
+import models.Project;
+import utils.command.Executable;
+
+import java.util.List;
+
+public class CopyMomentsCommand implements Executable<Void> {
+
+    private Project project;
+    private List<Moment> moments;
+
+    public CopyMomentsCommand(Project project, List<Moment> moments) {
+        this.project = project;
+        this.moments = moments;
+    }
+
+    @Override
+    public Void execute() {
+        // the moments contained in another copied moment are copied with it
+        MomentClipboard.set(new MomentCopier(project.getSelectedInterview().getInterviewText()).copy(MomentSelection.topLevelMoments(moments)));
+        return null;
+    }
+}
@@ -0,0 +1,37 @@
+package components.modelisationSpace.moment.appCommands;
+
+import application.history.HistoryManager;
+import application.history.ModelUserActionCommandHooks;
+import components.modelisationSpace.hooks.ModelisationSpaceHookNotifier;
+import components.modelisationSpace.moment.modelCommands.RemoveSubMoments;
+import models.Moment;
+import utils.command.Executable;
+
+import java.util.List;
+
+/*
+ * Deletes a selection of moments as a single user action.
+ */
+public class DeleteMomentsCommand implements Executable<Void> {
+
+    ModelisationSpaceHookNotifier hooksNotifier;
+    List<Moment> moments;
+
+    public DeleteMomentsCommand(ModelisationSpaceHookNotifier hooksNotifier, List<Moment> moments) {
+        this.hooksNotifier = hooksNotifier;
+        this.moments = moments;
+    }
+
+    @Override
+    public Void execute() {
+        List<Moment> subtrees = MomentSelection.topLevelMoments(moments);
+        if(subtrees.isEmpty())
+            return null;
+
+        RemoveSubMoments cmd = new RemoveSubMoments(subtrees);
+        cmd.hooks().setHook(ModelUserActionCommandHooks.HookMoment.AfterExecute, () -> subtrees.forEach(hooksNotifier::notifyMomentRemoved));
+        cmd.hooks().setHook(ModelUserActionCommandHooks.HookMoment.AfterUndo, () -> subtrees.forEach(hooksNotifier::notifyMomentAdded));
+        HistoryManager.addCommand(cmd, true);
+        return null;
+    }
+}
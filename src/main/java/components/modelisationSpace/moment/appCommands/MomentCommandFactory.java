@@ -6,6 +6,9 @@ import models.Moment;
 import models.RootMoment;
 import models.SchemaCategory;
 import models.Descripteme;
+import utils.GlobalVariables;
+
+import java.util.List;
 
 public class MomentCommandFactory {
 
@@ -45,6 +48,22 @@ public class MomentCommandFactory {
     public MoveMomentCommand moveMomentCommand(Moment m, RootMoment originParent){
         return new MoveMomentCommand(parent, originParent, m);
     }
+    public MoveMomentsCommand moveMomentsCommand(List<Moment> moments, int index) {
+        return new MoveMomentsCommand(parent, moments, index);
+    }
+    public MoveMomentsCommand moveMomentsCommand(List<Moment> moments) {
+        return new MoveMomentsCommand(parent, moments);
+    }
+    public CopyMomentsCommand copyMomentsCommand(List<Moment> moments) {
+        return new CopyMomentsCommand(GlobalVariables.getProject(), moments);
+    }
+    public PasteMomentsCommand pasteMomentsCommand(int index) {
+        return new PasteMomentsCommand(hookNotifier, GlobalVariables.getProject(), parent, index);
+    }
+    public PasteMomentsCommand pasteMomentsCommand() {
+        return new PasteMomentsCommand(hookNotifier, GlobalVariables.getProject(), parent);
+    }
+    public DeleteMomentsCommand deleteMomentsCommand(List<Moment> moments) { return new DeleteMomentsCommand(hookNotifier, moments); }
     public DeleteMomentCommand deleteCommand(Moment m) { return new DeleteMomentCommand(hookNotifier, parent, m); }
     public RenameMomentCommand renameCommand(Moment m) { return new RenameMomentCommand(m); }
     public SetMomentTransCommand transitionCommand(Moment m) { return new SetMomentTransCommand(m); }
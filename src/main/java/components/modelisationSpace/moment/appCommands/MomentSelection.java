@@ -0,0 +1,40 @@
+package components.modelisationSpace.moment.appCommands;
+
+import models.Moment;
+import models.RootMoment;
+
+import java.util.*;
+
+class MomentSelection {
+
+    // the selected moments that are not inside another selected moment, without duplicates
+    static List<Moment> topLevelMoments(Collection<Moment> moments) {
+        Set<Moment> selected = Collections.newSetFromMap(new IdentityHashMap<>());
+        selected.addAll(moments);
+
+        List<Moment> result = new ArrayList<>();
+        Set<Moment> added = Collections.newSetFromMap(new IdentityHashMap<>());
+        for(Moment m : moments) {
+            if(m.getParent() == null || !added.add(m))
+                continue;
+            boolean insideSelection = false;
+            for(RootMoment p = m.getParent(); p instanceof Moment; p = ((Moment) p).getParent()) {
+                if(selected.contains(p)) {
+                    insideSelection = true;
+                    break;
+                }
+            }
+            if(!insideSelection)
+                result.add(m);
+        }
+        return result;
+    }
+
+    static boolean isInside(RootMoment parent, Moment moment) {
+        for(RootMoment p = parent; p instanceof Moment; p = ((Moment) p).getParent()) {
+            if(p == moment)
+                return true;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,43 @@
+package components.modelisationSpace.moment.appCommands;
+
+import application.history.HistoryManager;
+import components.modelisationSpace.moment.modelCommands.MoveMoments;
+import models.Moment;
+import models.RootMoment;
+import utils.command.Executable;
+
+import java.util.List;
+
+/*
+ * Moves a selection of moments under the same parent as a single user action.
+ * The moments contained in another selected moment are moved with it.
+ */
+public class MoveMomentsCommand implements Executable<Void> {
+    RootMoment parent;
+    List<Moment> moments;
+    int index = -1;
+
+    public MoveMomentsCommand(RootMoment parent, List<Moment> moments, int index) {
+        this.parent = parent;
+        this.moments = moments;
+        this.index = index;
+    }
+
+    public MoveMomentsCommand(RootMoment parent, List<Moment> moments) {
+        this.parent = parent;
+        this.moments = moments;
+    }
+
+    @Override
+    public Void execute() {
+        List<Moment> subtrees = MomentSelection.topLevelMoments(moments);
+        // a moment cannot be moved inside itself
+        for(Moment m : subtrees) {
+            if(MomentSelection.isInside(parent, m))
+                return null;
+        }
+        if(!subtrees.isEmpty())
+            HistoryManager.addCommand(new MoveMoments(parent, subtrees, index), true);
+        return null;
+    }
+}
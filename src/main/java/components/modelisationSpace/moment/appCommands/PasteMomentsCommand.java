@@ -0,0 +1,58 @@
+package components.modelisationSpace.moment.appCommands;
+
+import application.configuration.Configuration;
+import application.history.HistoryManager;
+import application.history.ModelUserActionCommandHooks;
+import components.modelisationSpace.hooks.ModelisationSpaceHookNotifier;
+import components.modelisationSpace.moment.MomentClipboard;
+import components.modelisationSpace.moment.modelCommands.AddSubMoments;
+import models.Moment;
+import models.MomentCopier;
+import models.Project;
+import models.RootMoment;
+import utils.command.Executable;
+import utils.popups.WarningPopup;
+
+import java.util.List;
+
+/*
+ * Pastes a copy of the copied moments as a single user action.
+ * The descriptemes are moved to the text of the selected interview, the user is told about the ones it doesn't contain.
+ */
+public class PasteMomentsCommand implements Executable<Void> {
+
+    private ModelisationSpaceHookNotifier hooksNotifier;
+    private Project project;
+    private RootMoment parent;
+    private int index = -1;
+
+    public PasteMomentsCommand(ModelisationSpaceHookNotifier hooksNotifier, Project project, RootMoment parent, int index) {
+        this.hooksNotifier = hooksNotifier;
+        this.project = project;
+        this.parent = parent;
+        this.index = index;
+    }
+
+    public PasteMomentsCommand(ModelisationSpaceHookNotifier hooksNotifier, Project project, RootMoment parent) {
+        this.hooksNotifier = hooksNotifier;
+        this.project = project;
+        this.parent = parent;
+    }
+
+    @Override
+    public Void execute() {
+        if(MomentClipboard.isEmpty())
+            return null;
+
+        MomentCopier copier = new MomentCopier(project.getSelectedInterview().getInterviewText());
+        List<Moment> copies = copier.copy(MomentClipboard.get());
+        AddSubMoments cmd = new AddSubMoments(parent, copies, copier.getCopiedDescriptemes(), index);
+        cmd.hooks().setHook(ModelUserActionCommandHooks.HookMoment.AfterExecute, () -> copies.forEach(hooksNotifier::notifyMomentAdded));
+        cmd.hooks().setHook(ModelUserActionCommandHooks.HookMoment.AfterUndo, () -> copies.forEach(hooksNotifier::notifyMomentRemoved));
+        HistoryManager.addCommand(cmd, true);
+
+        if(!copier.getDroppedDescriptemes().isEmpty())
+            WarningPopup.display(String.format(Configuration.langBundle.getString("paste_dropped_descriptemes"), copier.getDroppedDescriptemes().size()));
+        return null;
+    }
+}
@@ -4,8 +4,9 @@ import application.configuration.Configuration;
 import application.history.HistoryManager;
 import components.modelisationSpace.controllers.ModelisationSpaceController;
 import components.modelisationSpace.hooks.ModelisationSpaceHookNotifier;
+import components.modelisationSpace.moment.MomentClipboard;
+import components.modelisationSpace.moment.SelectedMoments;
 import javafx.beans.property.SimpleStringProperty;
-import javafx.beans.value.ChangeListener;
 import javafx.beans.value.ObservableValue;
 import javafx.scene.control.*;
 import javafx.scene.image.ImageView;
@@ -22,9 +23,11 @@ import models.ConcreteCategory;
 import components.modelisationSpace.justification.controllers.JustificationController;
 import components.modelisationSpace.moment.appCommands.MomentCommandFactory;
 import models.Moment;
+import models.RootMoment;
 import models.SchemaCategory;
 import components.modelisationSpace.moment.modelCommands.RenameMoment;
 import javafx.animation.KeyFrame;
+import javafx.animation.PauseTransition;
 import javafx.animation.Timeline;
 import javafx.fxml.FXML;
 import javafx.fxml.FXMLLoader;
@@ -38,6 +41,7 @@ import utils.autoSuggestion.AutoSuggestionsTextField;
 import utils.autoSuggestion.strategies.SuggestionStrategyMoment;
 import utils.dragAndDrop.DragStore;
 import utils.modelControllers.ListView.ListView;
+import utils.modelControllers.ListenerScope;
 import utils.modelControllers.ListView.ListViewController;
 import utils.modelControllers.ListView.ListViewUpdate;
 import utils.popups.TextEntryController;
@@ -87,18 +91,24 @@ public class MomentController extends ListViewController<Moment> implements Init
 
     Node justificationArea;
 
+    // The body (justifications and categories) of a collapsed moment is only built when it is expanded,
+    // and it is released when the moment stays collapsed
+    private boolean bodyBuilt = false;
+    private final PauseTransition releaseBodyDelay = new PauseTransition(Duration.seconds(60));
+
     //menu-item with several values
     private MenuItem transitionButton;
     private MenuItem commentButton;
 
-    private ChangeListener<Boolean> commentVisibleListener;
-    private ChangeListener<Boolean> commentFocusListener;
-    private ChangeListener<String> commentTextListener;
-    private ChangeListener<Boolean> momentEmphasizeListener;
-    private final ChangeListener<Boolean> collapsedListener = ((observable, oldValue, newValue) -> collapseOrNot());
+    // listeners on the moment, removed when the controller is unmounted
+    private final ListenerScope listeners = new ListenerScope();
 
     private static double TransitionalHeight = 950;
 
+    // Rough size of a moment, used to lay out the moments that are not created yet
+    private static final double estimatedMomentWidth = 220;
+    private static final double estimatedMomentHeight = 260;
+
 
     public MomentController(Moment m, MomentCommandFactory cmdFactory, ScrollPaneCommandFactory paneCmdFactory) {
         this.moment = m;
@@ -126,11 +136,34 @@ public class MomentController extends ListViewController<Moment> implements Init
         }
     }
 
+    // Empty node with about the size of the moment and its sub-moments
+    public static Node createPlaceholder(Moment m) {
+        Pane placeholder = new Pane();
+        placeholder.setPrefSize(countLeaves(m) * estimatedMomentWidth, subTreeDepth(m) * estimatedMomentHeight);
+        return placeholder;
+    }
+
+    private static int countLeaves(Moment m) {
+        if (m.momentsProperty().isEmpty())
+            return 1;
+        int leaves = 0;
+        for (Moment child : m.momentsProperty())
+            leaves += countLeaves(child);
+        return leaves;
+    }
+
+    private static int subTreeDepth(Moment m) {
+        int depth = 0;
+        for (Moment child : m.momentsProperty())
+            depth = Math.max(depth, subTreeDepth(child));
+        return depth + 1;
+    }
+
     @Override
     public void initialize(URL url, ResourceBundle resourceBundle) {
         moment.setController(this);
         grid.add(separatorBottom.getNode(), 1, 2);
-        momentName.textProperty().bind(moment.nameProperty());
+        listeners.bind(momentName.textProperty(), moment.nameProperty());
         commentArea.setVisible(moment.isCommentVisible());
         commentArea.managedProperty().bind(commentArea.visibleProperty());
         commentArea.setText(moment.getComment());
@@ -141,14 +174,13 @@ public class MomentController extends ListViewController<Moment> implements Init
                 moment.momentsProperty(),
                 (m -> new MomentController(m, childCmdFactory, paneCmdFactory)),
                 MomentController::createMoment,
-                childrenBox);
+                childrenBox,
+                paneCmdFactory.getViewportLoader(),
+                MomentController::createPlaceholder);
 
         momentsHBox.setOnListUpdate(change -> separatorBottom.setActive(change.getList().size() == 0));
 
-        justificationArea = JustificationController.createJustificationArea(justificationController);
-        addJustifications();
-
-        addCategories();
+        releaseBodyDelay.setOnFinished(event -> releaseBody());
 
 
         //Listeners SETUP
@@ -157,7 +189,7 @@ public class MomentController extends ListViewController<Moment> implements Init
         separatorBottom.setOnDragDoneCategory(category -> childCmdFactory.addSiblingCommand(new Moment("Moment"), category).execute());
         separatorBottom.setOnDragDoneShemaCategory(category -> childCmdFactory.addSiblingCommand(new Moment("Moment"), category, this.moment).execute());
         // category -> { cmdFactory.addSiblingCommand(new Moment("Moment"), category, 0).execute(); }
-        separatorBottom.setOnDragMomentDone((moment, originParent) -> childCmdFactory.moveMomentCommand(moment, originParent).execute());
+        separatorBottom.setOnDragMomentDone((moment, originParent) -> moveDropped(childCmdFactory, moment, originParent, -1));
         separatorBottom.setOnDragTemplateMomentDone(templateMoment -> childCmdFactory.addSiblingCommand(templateMoment.createConcreteMoment()).execute());
 
         //Menu Button
@@ -179,9 +211,26 @@ public class MomentController extends ListViewController<Moment> implements Init
         menuButton.getItems().add(commentButton);
 
         MenuItem deleteButton = new MenuItem(Configuration.langBundle.getString("delete"));
-        deleteButton.setOnAction(actionEvent -> cmdFactory.deleteCommand(moment).execute());
+        deleteButton.setOnAction(actionEvent -> {
+            List<Moment> moments = SelectedMoments.including(moment);
+            if (moments.size() > 1) {
+                cmdFactory.deleteMomentsCommand(moments).execute();
+                SelectedMoments.clear();
+            }
+            else
+                cmdFactory.deleteCommand(moment).execute();
+        });
         menuButton.getItems().add(deleteButton);
 
+        MenuItem copyButton = new MenuItem(Configuration.langBundle.getString("copy_moment"));
+        copyButton.setOnAction(actionEvent -> cmdFactory.copyMomentsCommand(SelectedMoments.including(moment)).execute());
+        menuButton.getItems().add(copyButton);
+
+        MenuItem pasteButton = new MenuItem(Configuration.langBundle.getString("paste_moments"));
+        pasteButton.setOnAction(actionEvent -> cmdFactory.pasteMomentsCommand(cmdFactory.getParentMoment().indexOf(moment) + 1).execute());
+        menuButton.getItems().add(pasteButton);
+        menuButton.setOnShowing(event -> pasteButton.setDisable(MomentClipboard.isEmpty()));
+
         MenuItem renameButton = new MenuItem(Configuration.langBundle.getString("rename"));
         renameButton.setOnAction(actionEvent -> cmdFactory.renameCommand(moment).execute());
         menuButton.getItems().add(renameButton);
@@ -215,7 +264,10 @@ public class MomentController extends ListViewController<Moment> implements Init
         //Rename moment
         momentName.setOnMouseClicked(mouseEvent -> {
             if (mouseEvent.getButton().equals(MouseButton.PRIMARY)) {
-                if (mouseEvent.getClickCount() == 2) {
+                if (mouseEvent.isShortcutDown()) {
+                    SelectedMoments.toggle(moment);
+                }
+                else if (mouseEvent.getClickCount() == 2) {
                     passInRenamingMode(true);
                 }
             }
@@ -224,6 +276,8 @@ public class MomentController extends ListViewController<Moment> implements Init
 
     private void collapseOrNot() {
         if (!moment.isCollapsed()) {
+            releaseBodyDelay.stop();
+            buildBody();
             collapseIcon.setImage(new Image("/images/collapse_up.png"));
             momentBody.setCenter(commentArea);
             addJustifications();
@@ -243,25 +297,27 @@ public class MomentController extends ListViewController<Moment> implements Init
                     "-fx-border-radius:3;");
             moment.concreteCategoriesProperty().forEach((category) -> categoryNames.getChildren().add(new Label(category.getName())));
             momentContainer.setBottom(categoryNames);
+            if (bodyBuilt)
+                releaseBodyDelay.playFromStart();
         }
         updateTransHeight();
     }
 
     public void bind(){
-        commentVisibleListener = (observableValue, oldValue, visible) -> moment.setCommentVisible(visible);
+        listeners.addListener(commentArea.visibleProperty(), (observableValue, oldValue, visible) -> moment.setCommentVisible(visible));
 
         //Add the comment; When the moment has no comment the textArea disappears
-        commentFocusListener = (observableValue, oldValue, focused) -> {
+        listeners.addListener(commentArea.focusedProperty(), (observableValue, oldValue, focused) -> {
             if(!focused){
                 cmdFactory.addCommentCommand(moment, commentArea.getText()).execute();
                 if (commentArea.getText() == null || commentArea.getText().isEmpty()){
                     commentArea.setVisible(false);
                 }
             }
-        };
+        });
 
         //in case of redo
-        commentTextListener = (observableValue, oldValue, newValue) -> {
+        listeners.addListener(moment.commentProperty(), (observableValue, oldValue, newValue) -> {
             if (!commentArea.isVisible() && !newValue.isEmpty()) {
                 commentArea.setVisible(true);
             }
@@ -270,38 +326,58 @@ public class MomentController extends ListViewController<Moment> implements Init
             if(newValue == null || newValue.isEmpty()){
                 commentArea.setVisible(false);
             }
-        };
+        });
 
         // Emphasize
-        momentEmphasizeListener = (observableValue, eventEventHandler, value) -> {
+        listeners.addListener(moment.getEmphasizeProperty(), (observableValue, eventEventHandler, value) -> {
             if(value) {
                 momentContainer.setBorder(new Border(new BorderStroke(Color.BLACK, BorderStrokeStyle.DASHED, CornerRadii.EMPTY, BorderStroke.MEDIUM)));
             }
             else {
                 momentContainer.setBorder(null);
             }
-        };
+        });
 
-        commentArea.visibleProperty().addListener(commentVisibleListener);
-        commentArea.focusedProperty().addListener(commentFocusListener);
-        moment.commentProperty().addListener(commentTextListener);
-        moment.getEmphasizeProperty().addListener(momentEmphasizeListener);
+        listeners.addListener(moment.collapsedProperty(), (observable, oldValue, newValue) -> collapseOrNot());
 
-        moment.collapsedProperty().addListener(collapsedListener);
+        // Selection
+        listeners.addListChangeListener(SelectedMoments.get(), change -> updateSelected());
+        updateSelected();
+    }
+
+    private void updateSelected() {
+        boolean selected = SelectedMoments.get().contains(moment);
+        if (selected && !momentContainer.getStyleClass().contains("momentCard-selected"))
+            momentContainer.getStyleClass().add("momentCard-selected");
+        else if (!selected)
+            momentContainer.getStyleClass().remove("momentCard-selected");
     }
 
 
     public void unbind(){
-        if (commentVisibleListener!=null)
-            commentArea.visibleProperty().removeListener(commentVisibleListener);
-        if (commentFocusListener!=null)
-            commentArea.focusedProperty().removeListener(commentFocusListener);
-        if (commentTextListener!=null)
-            moment.commentProperty().removeListener(commentTextListener);
-        if (momentEmphasizeListener!=null)
-            moment.getEmphasizeProperty().removeListener(momentEmphasizeListener);
-
-        moment.collapsedProperty().removeListener(collapsedListener);
+        listeners.release();
+        SelectedMoments.remove(moment);
+        if (moment.getController() == this)
+            moment.setController(null);
+    }
+
+    private void buildBody() {
+        if (bodyBuilt)
+            return;
+        justificationArea = JustificationController.createJustificationArea(justificationController);
+        addCategories();
+        bodyBuilt = true;
+    }
+
+    private void releaseBody() {
+        if (!bodyBuilt || !moment.isCollapsed())
+            return;
+        categories.onUnmount();
+        categories = null;
+        categoryContainer.getChildren().clear();
+        justificationController.onUnmount();
+        justificationArea = null;
+        bodyBuilt = false;
     }
 
     private void addJustifications() {
@@ -397,10 +473,27 @@ public class MomentController extends ListViewController<Moment> implements Init
     @Override
     public void onUnmount() {
         momentsHBox.onUnmount();
-        categories.onUnmount();
+        releaseBodyDelay.stop();
+        if (bodyBuilt) {
+            categories.onUnmount();
+            justificationController.onUnmount();
+        }
         unbind();
     }
 
+    // the dragged moment is moved with the other selected moments when it is part of the selection, index -1: at the end
+    private static void moveDropped(MomentCommandFactory factory, Moment m, RootMoment originParent, int index) {
+        List<Moment> moments = SelectedMoments.including(m);
+        if (moments.size() > 1) {
+            factory.moveMomentsCommand(moments, index).execute();
+            SelectedMoments.clear();
+        }
+        else if (index == -1)
+            factory.moveMomentCommand(m, originParent).execute();
+        else
+            factory.moveMomentCommand(m, originParent, index).execute();
+    }
+
     private void updateBorders(int index, int siblingsCount) {
         separatorLeft.setOnDragDoneCategory(category -> cmdFactory.addSiblingCommand(new Moment("Moment"), category, 0).execute());
         separatorRight.setOnDragDoneCategory(category -> cmdFactory.addSiblingCommand(new Moment("Moment"), category, index+1).execute());
@@ -420,8 +513,8 @@ public class MomentController extends ListViewController<Moment> implements Init
             separatorRight.setOnDragDoneDescripteme(descripteme -> cmdFactory.addSiblingCommand(new Moment("Moment"), descripteme, index+1).execute());
 
             //set operation on moment DND over borders
-            separatorLeft.setOnDragMomentDone((m, originParent) -> cmdFactory.moveMomentCommand(m, originParent, 0).execute());
-            separatorRight.setOnDragMomentDone((m, originParent) -> cmdFactory.moveMomentCommand(m, originParent,index + 1).execute());
+            separatorLeft.setOnDragMomentDone((m, originParent) -> moveDropped(cmdFactory, m, originParent, 0));
+            separatorRight.setOnDragMomentDone((m, originParent) -> moveDropped(cmdFactory, m, originParent, index + 1));
 
             separatorLeft.setOnDragTemplateMomentDone(templateMoment -> cmdFactory.addSiblingCommand(templateMoment.createConcreteMoment(), 0).execute());
             separatorRight.setOnDragTemplateMomentDone(templateMoment -> cmdFactory.addSiblingCommand(templateMoment.createConcreteMoment(), index+1).execute());
@@ -442,12 +535,12 @@ public class MomentController extends ListViewController<Moment> implements Init
             separatorLeft.setOnDragTemplateMomentDone(templateMoment -> {});
             if(index == siblingsCount - 1) {
                 separatorRight.setOnDragDoneDescripteme(descripteme -> cmdFactory.addSiblingCommand(new Moment("Moment"), descripteme).execute());
-                separatorRight.setOnDragMomentDone((m, originParent) -> cmdFactory.moveMomentCommand(m, originParent).execute());
+                separatorRight.setOnDragMomentDone((m, originParent) -> moveDropped(cmdFactory, m, originParent, -1));
                 separatorRight.setOnDragTemplateMomentDone(templateMoment -> cmdFactory.addSiblingCommand(templateMoment.createConcreteMoment()).execute());
             }
             else {
                 separatorRight.setOnDragDoneDescripteme(descripteme -> cmdFactory.addSiblingCommand(new Moment("Moment"), descripteme, index+1).execute());
-                separatorRight.setOnDragMomentDone((m,originParent) -> cmdFactory.moveMomentCommand(m, originParent, index + 1).execute());
+                separatorRight.setOnDragMomentDone((m,originParent) -> moveDropped(cmdFactory, m, originParent, index + 1));
                 separatorRight.setOnDragTemplateMomentDone(templateMoment -> cmdFactory.addSiblingCommand(templateMoment.createConcreteMoment(), index+1).execute());
             }
 
@@ -573,7 +666,8 @@ public class MomentController extends ListViewController<Moment> implements Init
         if (moment.getParent() != null) {
             try {
                 Moment parentMoment = (Moment) moment.getParent();
-                parentHeight = parentMoment.getController().getFullHeight()+16;
+                if (parentMoment.getController() != null)
+                    parentHeight = parentMoment.getController().getFullHeight()+16;
             } catch (ClassCastException error){
                 //ignores when trying to get the rootMoment's height (it's not displayed)
             }
@@ -40,7 +40,9 @@ public class RootMomentController implements Initializable {
                 moment.momentsProperty(),
                 (m -> new MomentController(m, childCmdFactory, paneCmdFactory)),
                 MomentController::createMoment,
-                childrenBox);
+                childrenBox,
+                paneCmdFactory.getViewportLoader(),
+                MomentController::createPlaceholder);
     }
 
     public static Node createRootMoment(RootMomentController controller) {
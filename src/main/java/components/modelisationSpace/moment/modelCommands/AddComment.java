@@ -1,9 +1,11 @@
 package components.modelisationSpace.moment.modelCommands;
 
+import application.history.CommandLogEntry;
 import application.history.ModelUserActionCommand;
 import models.Moment;
 
 public class AddComment extends ModelUserActionCommand {
+    public static final String logType = "addComment";
     Moment moment;
     String newComment;
     String oldComment;
@@ -11,6 +13,11 @@ public class AddComment extends ModelUserActionCommand {
         this.moment = moment;
         this.newComment = newComment;
     }
+    public AddComment(CommandLogEntry entry) {
+        this.moment = entry.getReference("moment", Moment.class);
+        this.newComment = entry.getString("newComment");
+        this.oldComment = entry.getString("oldComment");
+    }
     @Override
     public Object undo() {
         moment.setComment(oldComment);
@@ -23,4 +30,22 @@ public class AddComment extends ModelUserActionCommand {
         moment.setComment(newComment);
         return null;
     }
+
+    @Override
+    protected boolean absorb(ModelUserActionCommand next) {
+        if(!(next instanceof AddComment) || ((AddComment) next).moment != moment)
+            return false;
+        newComment = ((AddComment) next).newComment;
+        return true;
+    }
+
+    @Override
+    protected String getLogType() { return logType; }
+
+    @Override
+    protected void writeLog(CommandLogEntry entry) {
+        entry.writeReference("moment", moment);
+        entry.writeString("newComment", newComment);
+        entry.writeString("oldComment", oldComment);
+    }
 }
@@ -0,0 +1,42 @@
+package components.modelisationSpace.moment.modelCommands;
+
+import application.history.ModelUserActionCommand;
+import models.Descripteme;
+import models.Moment;
+import models.RootMoment;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+ * Adds several new moments (e.g. pasted ones) at once, with the descriptemes they use.
+ */
+public class AddSubMoments extends ModelUserActionCommand<Void, Void> {
+
+    private RootMoment parent;
+    private List<Moment> moments;
+    private List<Descripteme> descriptemes;
+    private int addIndex;
+
+    public AddSubMoments(RootMoment parent, List<Moment> moments, List<Descripteme> descriptemes, int index) {
+        this.parent = parent;
+        this.moments = new ArrayList<>(moments);
+        this.descriptemes = new ArrayList<>(descriptemes);
+        this.addIndex = index;
+    }
+
+    @Override
+    public Void execute() {
+        parent.addMoments(addIndex == -1 ? parent.momentsProperty().size() : addIndex, moments);
+        moments.forEach(m -> m.addParent(parent));
+        descriptemes.forEach(d -> d.getInterviewText().addDescripteme(d));
+        return null;
+    }
+
+    @Override
+    public Void undo() {
+        parent.removeMoments(moments);
+        descriptemes.forEach(d -> d.getInterviewText().removeDescripteme(d));
+        return null;
+    }
+}
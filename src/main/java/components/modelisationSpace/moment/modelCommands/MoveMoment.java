@@ -1,11 +1,14 @@
 package components.modelisationSpace.moment.modelCommands;
 
+import application.history.CommandLogEntry;
 import application.history.ModelUserActionCommand;
 import models.Moment;
 import models.RootMoment;
 
 
 public class MoveMoment extends ModelUserActionCommand {
+    public static final String logType = "moveMoment";
+
     private RootMoment parent;
     private RootMoment originParent;
     private Moment moment;
@@ -23,6 +26,13 @@ public class MoveMoment extends ModelUserActionCommand {
         this.moment = moment;
         this.addIndex = index;
     }
+    public MoveMoment(CommandLogEntry entry) {
+        this.parent = entry.getReference("parent", RootMoment.class);
+        this.originParent = entry.getReference("originParent", RootMoment.class);
+        this.moment = entry.getReference("moment", Moment.class);
+        this.addIndex = entry.getInt("index");
+        this.originIndex = entry.getInt("originIndex");
+    }
 
     @Override
     public Void execute() {
@@ -35,6 +45,7 @@ public class MoveMoment extends ModelUserActionCommand {
         else {
             parent.addMoment(addIndex, moment);
         }
+        moment.addParent(parent);
         return null;
     }
 
@@ -42,6 +53,19 @@ public class MoveMoment extends ModelUserActionCommand {
     public Void undo() {
         parent.removeMoment(moment);
         originParent.addMoment(originIndex, moment);
+        moment.addParent(originParent);
        return null;
     }
+
+    @Override
+    protected String getLogType() { return logType; }
+
+    @Override
+    protected void writeLog(CommandLogEntry entry) {
+        entry.writeReference("parent", parent);
+        entry.writeReference("originParent", originParent);
+        entry.writeReference("moment", moment);
+        entry.writeInt("index", addIndex);
+        entry.writeInt("originIndex", originIndex);
+    }
 }
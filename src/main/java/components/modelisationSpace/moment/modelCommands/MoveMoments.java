@@ -0,0 +1,71 @@
+package components.modelisationSpace.moment.modelCommands;
+
+import application.history.ModelUserActionCommand;
+import models.Moment;
+import models.RootMoment;
+
+import java.util.*;
+
+/*
+ * Moves several moments (and their sub-moments) under the same parent, as one model command.
+ * Each origin parent and the destination only get a single list change.
+ */
+public class MoveMoments extends ModelUserActionCommand<Void, Void> {
+    private RootMoment parent;
+    private List<Moment> moments;
+    private int addIndex;
+
+    // origin of each moment, in the order of their origin parents
+    private Map<RootMoment, List<Moment>> originMoments;
+    private Map<Moment, Integer> originIndexes;
+
+    // index: position in the destination before the moments are removed, -1 to add them at the end
+    public MoveMoments(RootMoment parent, List<Moment> moments, int index) {
+        this.parent = parent;
+        this.moments = new ArrayList<>(moments);
+        this.addIndex = index;
+    }
+
+    @Override
+    public Void execute() {
+        originMoments = new LinkedHashMap<>();
+        originIndexes = new IdentityHashMap<>();
+        for(Moment m : moments) {
+            RootMoment originParent = m.getParent();
+            originMoments.computeIfAbsent(originParent, p -> new ArrayList<>()).add(m);
+            originIndexes.put(m, originParent.indexOf(m));
+        }
+
+        int index = addIndex == -1 ? parent.momentsProperty().size() : addIndex;
+        for(Moment m : moments) {
+            if(m.getParent() == parent && originIndexes.get(m) < addIndex)
+                index--;
+        }
+
+        originMoments.forEach(RootMoment::removeMoments);
+        index = Math.min(index, parent.momentsProperty().size());
+        parent.addMoments(index, moments);
+        moments.forEach(m -> m.addParent(parent));
+        return null;
+    }
+
+    @Override
+    public Void undo() {
+        parent.removeMoments(moments);
+        originMoments.forEach((originParent, originChildren) -> {
+            originChildren.sort(Comparator.comparingInt(originIndexes::get));
+            // consecutive moments are added back together
+            int i = 0;
+            while(i < originChildren.size()) {
+                int start = originIndexes.get(originChildren.get(i));
+                int j = i + 1;
+                while(j < originChildren.size() && originIndexes.get(originChildren.get(j)) == start + j - i)
+                    j++;
+                originParent.addMoments(start, originChildren.subList(i, j));
+                i = j;
+            }
+            originChildren.forEach(m -> m.addParent(originParent));
+        });
+        return null;
+    }
+}
@@ -53,6 +53,11 @@ public class RemoveSubMoment extends ModelUserActionCommand {
         return null;
     }
 
+    @Override
+    protected long estimatedSize() {
+        return estimatedSize(moment);
+    }
+
     @Override
     public Void undo() {
         parent.addMoment(oldIndex, moment);
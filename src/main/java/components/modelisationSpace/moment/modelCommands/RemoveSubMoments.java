@@ -0,0 +1,79 @@
+package components.modelisationSpace.moment.modelCommands;
+
+import application.history.ModelUserActionCommand;
+import models.Descripteme;
+import models.Moment;
+import models.RootMoment;
+
+import java.util.*;
+
+/*
+ * Removes several moments (and their sub-moments) as one model command:
+ * each parent only gets a single list change.
+ */
+public class RemoveSubMoments extends ModelUserActionCommand<Void, Void> {
+
+    private List<Moment> moments;
+    private Map<RootMoment, List<Moment>> removedMoments;
+    private Map<Moment, Integer> oldIndexes;
+
+    public RemoveSubMoments(List<Moment> moments) {
+        this.moments = new ArrayList<>(moments);
+    }
+
+    @Override
+    public Void execute() {
+        removedMoments = new LinkedHashMap<>();
+        oldIndexes = new IdentityHashMap<>();
+        for(Moment m : moments) {
+            removedMoments.computeIfAbsent(m.getParent(), p -> new ArrayList<>()).add(m);
+            oldIndexes.put(m, m.getParent().indexOf(m));
+        }
+        removedMoments.forEach(RootMoment::removeMoments);
+
+        // Remove the underlining of the descriptemes deleted
+        for(Moment m : moments)
+            forEachDescripteme(m, descripteme -> descripteme.getInterviewText().removeDescripteme(descripteme));
+        return null;
+    }
+
+    @Override
+    protected long estimatedSize() {
+        long size = 0;
+        for(Moment m : moments)
+            size += estimatedSize(m);
+        return size;
+    }
+
+    @Override
+    public Void undo() {
+        removedMoments.forEach((parent, children) -> {
+            children.sort(Comparator.comparingInt(oldIndexes::get));
+            int i = 0;
+            while(i < children.size()) {
+                int start = oldIndexes.get(children.get(i));
+                int j = i + 1;
+                while(j < children.size() && oldIndexes.get(children.get(j)) == start + j - i)
+                    j++;
+                parent.addMoments(start, children.subList(i, j));
+                i = j;
+            }
+        });
+
+        // Add the underlining of the descriptemes deleted
+        for(Moment m : moments)
+            forEachDescripteme(m, descripteme -> descripteme.getInterviewText().addDescripteme(descripteme));
+        return null;
+    }
+
+    private static void forEachDescripteme(Moment moment, java.util.function.Consumer<Descripteme> action) {
+        moment.getJustification().descriptemesProperty().forEach(action);
+        moment.concreteCategoriesProperty().forEach(concreteCategory -> {
+            concreteCategory.getJustification().descriptemesProperty().forEach(action);
+            concreteCategory.propertiesProperty().forEach(concreteProperty -> {
+                concreteProperty.getJustification().descriptemesProperty().forEach(action);
+            });
+        });
+        moment.momentsProperty().forEach(subMoment -> forEachDescripteme(subMoment, action));
+    }
+}
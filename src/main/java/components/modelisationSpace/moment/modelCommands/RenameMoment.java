@@ -1,10 +1,13 @@
 package components.modelisationSpace.moment.modelCommands;
 
+import application.history.CommandLogEntry;
 import application.history.ModelUserActionCommand;
 import models.Moment;
 
 public class RenameMoment extends ModelUserActionCommand {
 
+    public static final String logType = "renameMoment";
+
     private Moment moment;
     private String newName;
     private String oldName;
@@ -14,6 +17,12 @@ public class RenameMoment extends ModelUserActionCommand {
         this.newName = newName;
     }
 
+    public RenameMoment(CommandLogEntry entry) {
+        this.moment = entry.getReference("moment", Moment.class);
+        this.newName = entry.getString("newName");
+        this.oldName = entry.getString("oldName");
+    }
+
     @Override
     public Object execute() {
         oldName = moment.getName();
@@ -27,4 +36,22 @@ public class RenameMoment extends ModelUserActionCommand {
         return null;
     }
 
+    @Override
+    protected boolean absorb(ModelUserActionCommand next) {
+        if(!(next instanceof RenameMoment) || ((RenameMoment) next).moment != moment)
+            return false;
+        newName = ((RenameMoment) next).newName;
+        return true;
+    }
+
+    @Override
+    protected String getLogType() { return logType; }
+
+    @Override
+    protected void writeLog(CommandLogEntry entry) {
+        entry.writeReference("moment", moment);
+        entry.writeString("newName", newName);
+        entry.writeString("oldName", oldName);
+    }
+
 }
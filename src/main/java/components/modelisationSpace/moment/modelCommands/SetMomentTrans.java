@@ -1,10 +1,13 @@
 package components.modelisationSpace.moment.modelCommands;
 
+import application.history.CommandLogEntry;
 import application.history.ModelUserActionCommand;
 import models.Moment;
 
 public class SetMomentTrans extends ModelUserActionCommand {
 
+    public static final String logType = "setMomentTransitional";
+
     private Moment moment;
     private boolean oldstate;
     private boolean newstate;
@@ -14,6 +17,11 @@ public class SetMomentTrans extends ModelUserActionCommand {
         this.oldstate = oldstate;
     }
 
+    public SetMomentTrans(CommandLogEntry entry) {
+        this.moment = entry.getReference("moment", Moment.class);
+        this.oldstate = entry.getBoolean("oldState");
+    }
+
     @Override
     public Object execute() {
         newstate = !oldstate;
@@ -27,4 +35,13 @@ public class SetMomentTrans extends ModelUserActionCommand {
         return null;
     }
 
+    @Override
+    protected String getLogType() { return logType; }
+
+    @Override
+    protected void writeLog(CommandLogEntry entry) {
+        entry.writeReference("moment", moment);
+        entry.writeBoolean("oldState", oldstate);
+    }
+
 }
\ No newline at end of file
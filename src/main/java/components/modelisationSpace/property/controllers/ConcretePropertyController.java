@@ -23,6 +23,7 @@ import utils.DialogState;
 import utils.autoSuggestion.strategies.SuggestionStrategyProperty;
 import utils.dragAndDrop.DragStore;
 import utils.modelControllers.ListView.ListViewController;
+import utils.modelControllers.ListenerScope;
 import utils.modelControllers.ListView.ListViewUpdate;
 import utils.popups.TextEntryController;
 
@@ -34,6 +35,7 @@ public class ConcretePropertyController extends ListViewController<ConcretePrope
 
     private ConcreteProperty property;
     private JustificationController justificationController;
+    private final ListenerScope listeners = new ListenerScope();
     private ModelisationSpaceHookNotifier modelisationSpaceHookNotifier;
 
     @FXML private BorderPane container;
@@ -63,8 +65,9 @@ public class ConcretePropertyController extends ListViewController<ConcretePrope
 
     @Override
     public void initialize(URL url, ResourceBundle resourceBundle) {
-        name.textProperty().bind(property.nameProperty());
-        value.textProperty().bind(property.valueProperty());
+        listeners.bind(name.textProperty(), property.nameProperty());
+        listeners.bind(value.textProperty(), property.valueProperty());
+        listeners.onRelease(justificationController::onUnmount);
         VBox justif = (VBox)JustificationController.createJustificationArea(justificationController);
         justif.setPadding(new Insets(0, 0, 0, 20));
         container.setCenter(justif);
@@ -144,6 +147,6 @@ public class ConcretePropertyController extends ListViewController<ConcretePrope
 
     @Override
     public void onUnmount() {
-
+        listeners.release();
     }
 }
@@ -16,7 +16,7 @@ public class EditConcretePropertyValue extends ModelUserActionCommand<Void, Void
 
     @Override
     public Void execute() {
-        oldValue = property.getName();
+        oldValue = property.getValue();
         property.setValue(newValue);
         return null;
     }
@@ -26,4 +26,12 @@ public class EditConcretePropertyValue extends ModelUserActionCommand<Void, Void
         property.setValue(oldValue);
         return null;
     }
+
+    @Override
+    protected boolean absorb(ModelUserActionCommand next) {
+        if(!(next instanceof EditConcretePropertyValue) || ((EditConcretePropertyValue) next).property != property)
+            return false;
+        newValue = ((EditConcretePropertyValue) next).newValue;
+        return true;
+    }
 }
@@ -14,13 +14,8 @@ import java.util.ResourceBundle;
 
 public class SchemaTreeCategoryController extends SchemaTreeCellController {
 
-    private SchemaCategory category;
-    private SchemaTreeCommandFactory cmdFactory;
-
     public SchemaTreeCategoryController(SchemaCategory model, SchemaTreeCommandFactory cmdFactory) {
         super(model, cmdFactory);
-        this.category = model;
-        this.cmdFactory = cmdFactory;
     }
 
     @Override
@@ -32,17 +27,6 @@ public class SchemaTreeCategoryController extends SchemaTreeCellController {
     public void initialize(URL url, ResourceBundle resourceBundle) {
         super.initialize(url, resourceBundle);
 
-        name.textProperty().bind(element.nameProperty());
-        complementaryInfo.textProperty().bind(Bindings.createStringBinding(() -> {
-            String s = "";
-            int nUses = category.numberOfUsesInModelisationProperty().get();
-            if(nUses > 0) {
-                s += nUses + " ";
-                s += Configuration.langBundle.getString(nUses == 1 ? "use" : "uses");
-            }
-            return s;
-        }, category.numberOfUsesInModelisationProperty()));
-
         MenuItem addPropertyButton = new MenuItem(Configuration.langBundle.getString("add_property"));
         addPropertyButton.setOnAction(actionEvent -> {
             SchemaProperty p = new SchemaProperty(Configuration.langBundle.getString("property"));
@@ -50,10 +34,28 @@ public class SchemaTreeCategoryController extends SchemaTreeCellController {
         });
         optionsMenu.getItems().add(addPropertyButton);
 
+        addShowUsesMenu();
+
         MenuItem deleteButton = new MenuItem(Configuration.langBundle.getString("delete"));
         deleteButton.setOnAction(actionEvent -> {
-            cmdFactory.removeTreeElement(category).execute();
+            cmdFactory.removeTreeElement((SchemaCategory) element).execute();
         });
         optionsMenu.getItems().add(deleteButton);
     }
+
+    @Override
+    protected void bindElement() {
+        super.bindElement();
+
+        SchemaCategory category = (SchemaCategory) element;
+        complementaryInfo.textProperty().bind(Bindings.createStringBinding(() -> {
+            String s = "";
+            int nUses = category.numberOfUsesInModelisationProperty().get();
+            if(nUses > 0) {
+                s += nUses + " ";
+                s += Configuration.langBundle.getString(nUses == 1 ? "use" : "uses");
+            }
+            return s;
+        }, category.numberOfUsesInModelisationProperty()));
+    }
 }
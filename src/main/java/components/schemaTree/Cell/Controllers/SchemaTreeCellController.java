@@ -2,10 +2,12 @@ package components.schemaTree.Cell.Controllers;
 
 import application.configuration.Configuration;
 import application.history.HistoryManager;
+import components.interviewSelector.appCommands.InterviewSelectorCommandFactory;
 import components.schemaTree.Cell.appCommands.SchemaTreeCommandFactory;
 import components.schemaTree.Cell.modelCommands.RenameSchemaTreePluggable;
 import components.schemaTree.Cell.SchemaTreePluggable;
 import components.schemaTree.Section;
+import components.schemaTree.Services.usagesIndex.SchemaUsagesIndex;
 import javafx.application.Platform;
 import javafx.beans.binding.Bindings;
 import javafx.fxml.FXML;
@@ -16,11 +18,17 @@ import javafx.scene.image.ImageView;
 import javafx.scene.input.KeyCode;
 import javafx.scene.layout.BorderPane;
 import javafx.scene.layout.Pane;
+import models.Descripteme;
+import models.Project;
+import models.SchemaElement;
+import utils.GlobalVariables;
 import utils.ResourceLoader;
 import utils.autoSuggestion.AutoSuggestionsTextField;
 import utils.autoSuggestion.strategies.SuggestionStrategy;
 
 import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.ResourceBundle;
 
 public abstract class SchemaTreeCellController implements Initializable {
@@ -42,10 +50,13 @@ public abstract class SchemaTreeCellController implements Initializable {
     @FXML
     MenuButton optionsMenu;
 
+    private static final int maxListedUses = 50;
+
     protected SchemaTreePluggable element;
+    protected SchemaTreeCommandFactory cmdFactory;
+    private String iconPath;
     private boolean renamingMode = false;
     private boolean shouldRemoveMenuButtonVisibility;
-    private SchemaTreeCommandFactory cmdFactory;
 
     public SchemaTreeCellController(SchemaTreePluggable element, SchemaTreeCommandFactory cmdFactory) {
         this.element = element;
@@ -54,13 +65,18 @@ public abstract class SchemaTreeCellController implements Initializable {
 
     protected abstract SuggestionStrategy getSuggestionStrategy();
 
-    @Override
-    public void initialize(URL url, ResourceBundle resourceBundle) {
-        pictureView.setImage(ResourceLoader.loadImage(element.getIconPath()));
+    public SchemaTreePluggable getElement() { return element; }
 
-        name.setText(element.nameProperty().get());
-        name.textProperty().bind(element.nameProperty());
+    // Shows another element of the same kind with the graphics already loaded, when a cell is recycled
+    public void rebind(SchemaTreePluggable element, SchemaTreeCommandFactory cmdFactory) {
+        passInRenamingMode(false);
+        this.element = element;
+        this.cmdFactory = cmdFactory;
+        bindElement();
+    }
 
+    @Override
+    public void initialize(URL url, ResourceBundle resourceBundle) {
         MenuItem renameButton = new MenuItem(Configuration.langBundle.getString("rename"));
         renameButton.setOnAction(actionEvent -> {
             passInRenamingMode(true);
@@ -72,13 +88,63 @@ public abstract class SchemaTreeCellController implements Initializable {
             if(shouldRemoveMenuButtonVisibility) { shouldRemoveMenuButtonVisibility = false; optionsMenu.setVisible(false);}
         });
 
+        bindElement();
+    }
+
+    // The menus act on the current element: only the displayed values are bound here
+    protected void bindElement() {
+        if(!element.getIconPath().equals(iconPath)) {
+            iconPath = element.getIconPath();
+            pictureView.setImage(ResourceLoader.loadImage(iconPath));
+        }
+        name.textProperty().bind(element.nameProperty());
+
+        SchemaTreePluggable bound = element;
         Platform.runLater(()-> {
-            if(element.mustBeRenamed())
+            if(element == bound && bound.mustBeRenamed())
                 passInRenamingMode(true);
         });
     }
 
 
+    // Lists where the element is used, in all the interviews: picking a use selects its interview and reveals its justification
+    protected void addShowUsesMenu() {
+        Menu usesMenu = new Menu(Configuration.langBundle.getString("show_uses"));
+        optionsMenu.showingProperty().addListener((observable, oldValue, showing) -> {
+            if(!showing)
+                return;
+            List<SchemaUsagesIndex.Use> uses = GlobalVariables.getSchemaUsages().listUses((SchemaElement) element);
+            List<MenuItem> items = new ArrayList<>();
+            for(SchemaUsagesIndex.Use use : uses.subList(0, Math.min(uses.size(), maxListedUses))) {
+                MenuItem item = new MenuItem(use.getInterview().getTitle() + " > " + use.getMoment().getName());
+                item.setOnAction(actionEvent -> showUse(use));
+                items.add(item);
+            }
+            if(uses.size() > maxListedUses) {
+                MenuItem more = new MenuItem("... (" + (uses.size() - maxListedUses) + ")");
+                more.setDisable(true);
+                items.add(more);
+            }
+            usesMenu.getItems().setAll(items);
+            usesMenu.setDisable(items.isEmpty());
+        });
+        optionsMenu.getItems().add(usesMenu);
+    }
+
+    private void showUse(SchemaUsagesIndex.Use use) {
+        Project project = GlobalVariables.getProject();
+        if(project.getSelectedInterview() != use.getInterview())
+            new InterviewSelectorCommandFactory(project).selectCurrentInterview(use.getInterview(), true).execute();
+        List<Descripteme> descriptemes = use.getJustification().descriptemesProperty();
+        if(descriptemes.isEmpty())
+            descriptemes = use.getMoment().getJustification().descriptemesProperty();
+        if(!descriptemes.isEmpty()) {
+            // once the text of the selected interview is displayed
+            Descripteme first = descriptemes.get(0);
+            Platform.runLater(() -> first.setTriggerScrollReveal(true));
+        }
+    }
+
     public void passInRenamingMode(boolean YoN) {
         if(YoN != renamingMode) {
             if(YoN){
@@ -13,13 +13,8 @@ import java.util.ResourceBundle;
 
 public class SchemaTreeFolderController extends SchemaTreeCellController {
 
-    private SchemaFolder folder;
-    private SchemaTreeCommandFactory cmdFactory;
-
     public SchemaTreeFolderController(SchemaFolder folder, SchemaTreeCommandFactory cmdFactory) {
         super(folder, cmdFactory);
-        this.folder = folder;
-        this.cmdFactory = cmdFactory;
     }
 
     @Override
@@ -47,7 +42,7 @@ public class SchemaTreeFolderController extends SchemaTreeCellController {
 
         MenuItem deleteButton = new MenuItem(Configuration.langBundle.getString("delete"));
         deleteButton.setOnAction(actionEvent -> {
-            cmdFactory.removeTreeElement(folder).execute();
+            cmdFactory.removeTreeElement((SchemaFolder) element).execute();
         });
         optionsMenu.getItems().add(deleteButton);
     }
@@ -14,13 +14,8 @@ import java.util.ResourceBundle;
 
 public class SchemaTreePropertyController extends SchemaTreeCellController {
 
-    private SchemaProperty property;
-    private SchemaTreeCommandFactory cmdFactory;
-
     public SchemaTreePropertyController(SchemaProperty property, SchemaTreeCommandFactory cmdFactory) {
         super(property, cmdFactory);
-        this.property = property;
-        this.cmdFactory = cmdFactory;
     }
 
     @Override
@@ -32,7 +27,20 @@ public class SchemaTreePropertyController extends SchemaTreeCellController {
     public void initialize(URL url, ResourceBundle resourceBundle) {
         super.initialize(url, resourceBundle);
 
-        name.textProperty().bind(element.nameProperty());
+        addShowUsesMenu();
+
+        MenuItem deleteButton = new MenuItem(Configuration.langBundle.getString("delete"));
+        deleteButton.setOnAction(actionEvent -> {
+            cmdFactory.removeTreeElement((SchemaProperty) element).execute();
+        });
+        optionsMenu.getItems().add(deleteButton);
+    }
+
+    @Override
+    protected void bindElement() {
+        super.bindElement();
+
+        SchemaProperty property = (SchemaProperty) element;
         complementaryInfo.textProperty().bind(Bindings.createStringBinding(() -> {
             String s = "";
             int nUses = property.numberOfUsesInModelisationProperty().get();
@@ -42,11 +50,5 @@ public class SchemaTreePropertyController extends SchemaTreeCellController {
             }
             return s;
         }, property.numberOfUsesInModelisationProperty()));
-
-        MenuItem deleteButton = new MenuItem(Configuration.langBundle.getString("delete"));
-        deleteButton.setOnAction(actionEvent -> {
-            cmdFactory.removeTreeElement(property).execute();
-        });
-        optionsMenu.getItems().add(deleteButton);
     }
 }
@@ -7,7 +7,6 @@ import models.SchemaTreeRoot;
 import javafx.scene.control.MenuItem;
 import javafx.fxml.FXML;
 import javafx.scene.layout.BorderPane;
-import utils.ResourceLoader;
 import utils.autoSuggestion.strategies.SuggestionStrategy;
 
 import java.net.URL;
@@ -18,13 +17,8 @@ public class SchemaTreeRootController extends SchemaTreeCellController {
     @FXML
     BorderPane container;
 
-    SchemaTreeRoot root;
-    SchemaTreeCommandFactory cmdFactory;
-
     public SchemaTreeRootController(SchemaTreeRoot root, SchemaTreeCommandFactory cmdFactory) {
         super(root, cmdFactory);
-        this.root = root;
-        this.cmdFactory = cmdFactory;
     }
 
     @Override
@@ -34,9 +28,6 @@ public class SchemaTreeRootController extends SchemaTreeCellController {
 
     @Override
     public void initialize(URL url, ResourceBundle resourceBundle) {
-        pictureView.setImage(ResourceLoader.loadImage(element.getIconPath()));
-        name.setText(element.nameProperty().get());
-
         MenuItem addFolderButton = new MenuItem(Configuration.langBundle.getString("add_folder"));
         addFolderButton.setOnAction(actionEvent -> {
             SchemaFolder f = new SchemaFolder(Configuration.langBundle.getString("folder"));
@@ -45,5 +36,7 @@ public class SchemaTreeRootController extends SchemaTreeCellController {
 
         optionsMenu.getItems().add(addFolderButton);
         optionsMenu.setVisible(false);
+
+        bindElement();
     }
 }
@@ -1,7 +1,6 @@
 package components.schemaTree.Cell;
 
 import application.history.HistoryManager;
-import components.schemaTree.Cell.appCommands.SchemaTreeCommandFactory;
 import components.schemaTree.Cell.modelCommands.MoveSchemaTreePluggable;
 import components.schemaTree.Cell.Controllers.SchemaTreeCellController;
 import components.schemaTree.Section;
@@ -10,9 +9,7 @@ import models.SchemaCategory;
 import models.SchemaFolder;
 import models.SchemaProperty;
 import utils.reactiveTree.LeafToRootIterator;
-import components.schemaTree.Cell.Visitors.CreateControllerVisitor;
 import javafx.event.EventHandler;
-import javafx.fxml.FXMLLoader;
 import javafx.scene.control.TreeCell;
 import javafx.scene.input.*;
 
@@ -22,6 +19,7 @@ import utils.dragAndDrop.DragStore;
 public class SchemaTreeCell extends TreeCell<SchemaTreePluggable> {
 
     SchemaTreeCellController controller;
+    private final SchemaTreeCellGraphics cellGraphics = new SchemaTreeCellGraphics();
 
     public SchemaTreeCell() {
         addEventHandler(MouseEvent.MOUSE_ENTERED, mouseEvent -> { if(controller != null)controller.setOnHover(true); });
@@ -36,30 +34,27 @@ public class SchemaTreeCell extends TreeCell<SchemaTreePluggable> {
 
         }
         else {
-            createGraphics(element);
+            createGraphics();
             setupDragAndDrop(element);
         }
     }
 
-    private void createGraphics(SchemaTreePluggable element) {
-        //Cell view
-        FXMLLoader loader = new FXMLLoader();
-        loader.setLocation(getClass().getResource("/views/SchemaTree/SchemaTreeCell.fxml"));
-
-        //Cell Controller
-        SchemaTreeCellController newController = updateController(element);
-        loader.setController(newController);
-
+    private void createGraphics() {
+        SchemaTreeCellGraphics.Entry entry;
         try {
-            this.setGraphic(loader.load());
+            entry = cellGraphics.get(getTreeView(), getTreeItem());
         } catch (Exception ex) {
             System.out.println("Error on ModelTreeCell graphics update !");
             ex.printStackTrace();
+            return;
         }
 
-        if(controller != null)
-            newController.setOnHover(controller.getOnHover());
-        controller = newController;
+        if(getGraphic() != entry.graphic)
+            this.setGraphic(entry.graphic);
+
+        if(controller != null && controller != entry.controller)
+            entry.controller.setOnHover(controller.getOnHover());
+        controller = entry.controller;
     }
 
 
@@ -67,13 +62,6 @@ public class SchemaTreeCell extends TreeCell<SchemaTreePluggable> {
         this.setGraphic(null);
     }
 
-    private SchemaTreeCellController updateController(SchemaTreePluggable element) {
-        SchemaTreeCommandFactory cmdFactory = new SchemaTreeCommandFactory(getTreeView(), getTreeItem());
-        CreateControllerVisitor visitor = new CreateControllerVisitor(cmdFactory);
-        element.accept(visitor);
-        return visitor.getResultController();
-    }
-
     private void setupDragAndDrop(SchemaTreePluggable element) {
 
         SchemaTreeCell selfCell = this;
@@ -223,13 +211,8 @@ public class SchemaTreeCell extends TreeCell<SchemaTreePluggable> {
 
 
     private static boolean isDirectParent(SchemaTreePluggable source, SchemaTreeCell target) {
-        //Checking for target being a direct parent of source
-        boolean res = false;
-        for(TreeItem i: target.getTreeItem().getChildren())
-            if(i.getValue() == source) {
-                res = true;
-            }
-        return res;
+        //Checking for target being a direct parent of source (its tree items may not be created yet)
+        return target.getItem().hasChild(source);
     }
 
     private static boolean isAncestor(SchemaTreePluggable source, SchemaTreeCell target){
@@ -0,0 +1,60 @@
+package components.schemaTree.Cell;
+
+import components.schemaTree.Cell.Controllers.SchemaTreeCellController;
+import components.schemaTree.Cell.Visitors.CreateControllerVisitor;
+import components.schemaTree.Cell.appCommands.SchemaTreeCommandFactory;
+import javafx.fxml.FXMLLoader;
+import javafx.scene.Node;
+import javafx.scene.control.TreeItem;
+import javafx.scene.control.TreeView;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+public class SchemaTreeCellGraphics {
+    /*
+    The graphics of a schema tree cell, one per kind of element the cell has shown.
+    updateItem is called with any item each time the tree is scrolled or laid out: the graphics
+    of the same kind are re-bound to the new element and tree item instead of loading the FXML again.
+    A tree only has the cells it displays, so the FXML is loaded a few times per cell at most.
+     */
+
+    static class Entry {
+        final SchemaTreeCellController controller;
+        final Node graphic;
+        TreeItem<SchemaTreePluggable> item;
+
+        Entry(SchemaTreeCellController controller, Node graphic, TreeItem<SchemaTreePluggable> item) {
+            this.controller = controller;
+            this.graphic = graphic;
+            this.item = item;
+        }
+    }
+
+    private final Map<Class<?>, Entry> entries = new HashMap<>();
+
+    Entry get(TreeView<SchemaTreePluggable> view, TreeItem<SchemaTreePluggable> item) throws IOException {
+        SchemaTreePluggable element = item.getValue();
+        Entry entry = entries.get(element.getClass());
+        if(entry == null) {
+            entry = load(view, item);
+            entries.put(element.getClass(), entry);
+        }
+        else if(entry.item != item || entry.controller.getElement() != element) {
+            entry.controller.rebind(element, new SchemaTreeCommandFactory(view, item));
+            entry.item = item;
+        }
+        return entry;
+    }
+
+    static Entry load(TreeView<SchemaTreePluggable> view, TreeItem<SchemaTreePluggable> item) throws IOException {
+        CreateControllerVisitor visitor = new CreateControllerVisitor(new SchemaTreeCommandFactory(view, item));
+        item.getValue().accept(visitor);
+
+        FXMLLoader loader = new FXMLLoader();
+        loader.setLocation(SchemaTreeCellGraphics.class.getResource("/views/SchemaTree/SchemaTreeCell.fxml"));
+        loader.setController(visitor.getResultController());
+        return new Entry(visitor.getResultController(), loader.load(), item);
+    }
+}
@@ -28,6 +28,7 @@ public class Utils {
         return a.getDataFormat() == b.getDataFormat();
     }
 
+    // only goes through the tree items already created, see ReactiveTreeContainer
     public static <E, T> TreeItem<T> findTreeElement(TreeItem<E> item , T value)
     {
         if(item == null)
@@ -1,5 +1,6 @@
 package components.schemaTree.Cell.Visitors;
 
+import components.schemaTree.Services.usagesIndex.SchemaUsagesIndex;
 import models.SchemaCategory;
 import models.SchemaFolder;
 import models.SchemaProperty;
@@ -7,8 +8,13 @@ import models.SchemaTreeRoot;
 
 public class CanTreeElementBeSafelyDeletedVisitor extends SchemaTreePluggableVisitor {
 
+    private final SchemaUsagesIndex usages;
     private boolean result = true;
 
+    public CanTreeElementBeSafelyDeletedVisitor(SchemaUsagesIndex usages) {
+        this.usages = usages;
+    }
+
     @Override
     public void visit(SchemaTreeRoot element) {
         result = false;
@@ -22,13 +28,13 @@ public class CanTreeElementBeSafelyDeletedVisitor extends SchemaTreePluggableVis
 
     @Override
     public void visit(SchemaCategory element) {
-        if(element.numberOfUsesInModelisationProperty().get() > 0)
+        if(usages.getUses(element) > 0)
             result = false;
     }
 
     @Override
     public void visit(SchemaProperty element) {
-        if(element.numberOfUsesInModelisationProperty().get() > 0)
+        if(usages.getUses(element) > 0)
             result = false;
     }
 
@@ -8,11 +8,14 @@ import components.schemaTree.Cell.Visitors.CanTreeElementBeSafelyRenamedVisitor;
 import components.schemaTree.Cell.Visitors.CreateAddChildStrategyVisitor;
 import components.schemaTree.Cell.Visitors.CreateRemovingStrategyVisitor;
 import components.schemaTree.Cell.appCommands.strategies.UnremovableRemovingStrategy;
+import components.schemaTree.Cell.modelCommands.MergeSchemaCategory;
 import components.schemaTree.Cell.modelCommands.RenameSchemaTreePluggable;
 import javafx.scene.control.Alert;
 import javafx.scene.control.ButtonType;
 import javafx.scene.control.TreeItem;
 import javafx.scene.control.TreeView;
+import models.SchemaCategory;
+import utils.GlobalVariables;
 import utils.removable.IRemovable;
 
 public class SchemaTreeCommandFactory {
@@ -34,7 +37,7 @@ public class SchemaTreeCommandFactory {
         CreateRemovingStrategyVisitor v = new CreateRemovingStrategyVisitor<>(view, item.getParent().getValue(), element);
         element.accept(v);
 
-        CanTreeElementBeSafelyDeletedVisitor safeDelete = new CanTreeElementBeSafelyDeletedVisitor();
+        CanTreeElementBeSafelyDeletedVisitor safeDelete = new CanTreeElementBeSafelyDeletedVisitor(GlobalVariables.getSchemaUsages());
         element.accept(safeDelete);
 
         if(safeDelete.elementCanBeSafelyDeleted()) {
@@ -53,9 +56,13 @@ public class SchemaTreeCommandFactory {
 
     public <E extends SchemaTreePluggable> void renameTreeElement(E element, String newName) {
 
+        // a category renamed as another one can be merged into it
+        if(element instanceof SchemaCategory && mergeIntoCategoryNamed((SchemaCategory) element, newName))
+            return;
+
         RenameSchemaTreePluggable cmd = new RenameSchemaTreePluggable(element, newName);
 
-        CanTreeElementBeSafelyRenamedVisitor safeDelete = new CanTreeElementBeSafelyRenamedVisitor();
+        CanTreeElementBeSafelyRenamedVisitor safeDelete = new CanTreeElementBeSafelyRenamedVisitor(GlobalVariables.getSchemaUsages());
         element.accept(safeDelete);
 
         if(safeDelete.elementCanBeSafelyRenamed()) {
@@ -69,4 +76,23 @@ public class SchemaTreeCommandFactory {
             }
         }
     }
+
+    private boolean mergeIntoCategoryNamed(SchemaCategory category, String name) {
+        SchemaCategory target = null;
+        for(SchemaCategory other : GlobalVariables.getSuggestionIndexes().getCategories().named(name)) {
+            if(other != category) {
+                target = other;
+                break;
+            }
+        }
+        if(target == null)
+            return false;
+
+        Alert alert = new Alert(Alert.AlertType.CONFIRMATION, String.format(Configuration.langBundle.getString("schemaTree_merge_confirm"), name), ButtonType.YES, ButtonType.NO);
+        alert.showAndWait();
+        if(alert.getResult() != ButtonType.YES)
+            return false;
+        HistoryManager.addCommand(new MergeSchemaCategory(GlobalVariables.getProject(), GlobalVariables.getSchemaUsages(), item.getParent().getValue(), category, target), true);
+        return true;
+    }
 }
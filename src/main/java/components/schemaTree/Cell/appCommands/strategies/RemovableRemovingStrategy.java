@@ -1,14 +1,24 @@
 package components.schemaTree.Cell.appCommands.strategies;
 
 import application.history.HistoryManager;
+import application.history.ModelUserActionCommandHooks;
 import components.schemaTree.Cell.SchemaTreePluggable;
 import components.schemaTree.Cell.Utils;
 import components.schemaTree.Cell.appCommands.RemovingStrategy;
 import components.schemaTree.Cell.modelCommands.RemoveSchemaTreePluggable;
+import components.schemaTree.Services.usagesIndex.SchemaUsagesIndex;
 import javafx.scene.control.TreeItem;
 import javafx.scene.control.TreeView;
+import models.Interview;
+import models.SchemaProperty;
+import models.SchemaUsageStatistics;
+import utils.GlobalVariables;
 import utils.removable.IRemovable;
 
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
 public class RemovableRemovingStrategy<E extends SchemaTreePluggable&IRemovable> extends RemovingStrategy {
 
     private E item;
@@ -22,7 +32,17 @@ public class RemovableRemovingStrategy<E extends SchemaTreePluggable&IRemovable>
 
     @Override
     public Void execute() {
-        HistoryManager.addCommand(new RemoveSchemaTreePluggable<>(parent, item), true);
+        RemoveSchemaTreePluggable<E> cmd = new RemoveSchemaTreePluggable<>(parent, item);
+        if(item instanceof SchemaProperty) {
+            // the values of the property are removed from (and restored in) every interview using it
+            Set<Interview> modified = Collections.newSetFromMap(new IdentityHashMap<>());
+            for(SchemaUsagesIndex.Use use : GlobalVariables.getSchemaUsages().listUses((SchemaProperty) item))
+                modified.add(use.getInterview());
+            SchemaUsageStatistics statistics = GlobalVariables.getProject().getUsageStatistics();
+            cmd.hooks().setHook(ModelUserActionCommandHooks.HookMoment.AfterExecute, () -> modified.forEach(statistics::setOutdated));
+            cmd.hooks().setHook(ModelUserActionCommandHooks.HookMoment.AfterUndo, () -> modified.forEach(statistics::setOutdated));
+        }
+        HistoryManager.addCommand(cmd, true);
         TreeItem<SchemaTreePluggable> parentItem = Utils.findTreeElement(view.getRoot(), parent);
         view.getSelectionModel().select(view.getRow(parentItem));
         return null;
@@ -0,0 +1,211 @@
+package components.schemaTree.Cell.modelCommands;
+
+import application.history.ModelUserActionCommand;
+import components.schemaTree.Cell.SchemaTreePluggable;
+import components.schemaTree.Services.UsesCountDeltas;
+import components.schemaTree.Services.usagesIndex.SchemaUsagesIndex;
+import models.*;
+import utils.fullTextSearch.TextNormalizer;
+
+import java.util.*;
+
+public class MergeSchemaCategory extends ModelUserActionCommand<Void, Void> {
+    /*
+    Merges a schema category into another one, in all the interviews: each concrete category of the source (found
+    with the uses index) is replaced, at the same place, by a concrete category of the target with the same justification.
+    When the moment already has the target, the concrete category of the source is removed and merged into it instead:
+    its descriptemes are added to the justification of the target, and its property values fill the empty ones.
+    The properties are matched by name: the values and justifications of the source properties that the target
+    doesn't have (or already has a value for) are lost. The source category is then removed from the schema.
+    The uses counters and the usage statistics are updated once for the whole merge.
+     */
+
+    private static class Use {
+        final Interview interview;
+        final Moment moment;
+        final ConcreteCategory replaced;
+        // the new concrete category of the target, or the one the moment already has when merged
+        final ConcreteCategory replacement;
+        final boolean merged;
+        // what the replaced concrete category adds to the one of the target, when merged
+        final List<Descripteme> descriptemes = new ArrayList<>();
+        final Map<ConcreteProperty, ConcreteProperty> filledProperties = new IdentityHashMap<>();
+        // the descriptemes that are lost (e.g. already in the justification), no longer shown in the interview text
+        final List<Descripteme> dropped = new ArrayList<>();
+        int index;
+
+        Use(Interview interview, Moment moment, ConcreteCategory replaced, ConcreteCategory replacement, boolean merged) {
+            this.interview = interview;
+            this.moment = moment;
+            this.replaced = replaced;
+            this.replacement = replacement;
+            this.merged = merged;
+        }
+    }
+
+    private final SchemaTreePluggable parent;
+    private final SchemaCategory source;
+    private final SchemaCategory target;
+    private final SchemaUsageStatistics statistics;
+    private final List<Use> uses = new ArrayList<>();
+    private int replacements = 0;
+    // uses of the properties with a value moved from the source to the target
+    private final Map<SchemaProperty, Integer> propertyDeltas = new IdentityHashMap<>();
+    private int sourceIndex;
+
+    public MergeSchemaCategory(Project project, SchemaUsagesIndex usages, SchemaTreePluggable parent, SchemaCategory source, SchemaCategory target) {
+        if(source == target)
+            throw new IllegalArgumentException("(MergeSchemaCategory) A category can't be merged into itself !");
+        this.parent = parent;
+        this.source = source;
+        this.target = target;
+        this.statistics = project.getUsageStatistics();
+
+        Map<String, SchemaProperty> targetProperties = new HashMap<>();
+        for(SchemaProperty p : target.propertiesProperty())
+            targetProperties.putIfAbsent(TextNormalizer.fold(p.getName()), p);
+
+        for(ConcreteCategory cc : usages.getConcreteCategories(source)) {
+            Moment moment = usages.getMoment(cc);
+            Interview interview = usages.getInterview(moment);
+            int existing = moment.indexOfSchemaCategory(target);
+            if(existing == -1) {
+                uses.add(new Use(interview, moment, cc, replacement(cc, targetProperties), false));
+                replacements++;
+            }
+            else
+                uses.add(merge(interview, moment, cc, moment.concreteCategoriesProperty().get(existing), targetProperties));
+        }
+    }
+
+    private Use merge(Interview interview, Moment moment, ConcreteCategory merged, ConcreteCategory into, Map<String, SchemaProperty> targetProperties) {
+        Use use = new Use(interview, moment, merged, into, true);
+        for(Descripteme d : merged.getJustification().descriptemesProperty()) {
+            if(containsFragment(into.getJustification(), d))
+                use.dropped.add(d);
+            else
+                use.descriptemes.add(d);
+        }
+        for(ConcreteProperty cp : merged.propertiesProperty()) {
+            ConcreteProperty filled = emptyProperty(into, targetProperties.get(TextNormalizer.fold(cp.getName())));
+            if(!cp.getValue().isEmpty()) {
+                propertyDeltas.merge(cp.getSchemaProperty(), -1, Integer::sum);
+                if(filled != null && !use.filledProperties.containsKey(filled)) {
+                    use.filledProperties.put(filled, cp);
+                    propertyDeltas.merge(filled.getSchemaProperty(), 1, Integer::sum);
+                    continue;
+                }
+            }
+            use.dropped.addAll(cp.getJustification().descriptemesProperty());
+        }
+        return use;
+    }
+
+    // the concrete property of sp, when it has no value
+    private static ConcreteProperty emptyProperty(ConcreteCategory category, SchemaProperty sp) {
+        for(ConcreteProperty cp : category.propertiesProperty()) {
+            if(cp.isSchemaProperty(sp))
+                return cp.getValue().isEmpty() ? cp : null;
+        }
+        return null;
+    }
+
+    private static boolean containsFragment(Justification justification, Descripteme d) {
+        for(Descripteme other : justification.descriptemesProperty()) {
+            if(other.getInterviewText() == d.getInterviewText() && other.getStartIndex() == d.getStartIndex() && other.getEndIndex() == d.getEndIndex())
+                return true;
+        }
+        return false;
+    }
+
+    private ConcreteCategory replacement(ConcreteCategory replaced, Map<String, SchemaProperty> targetProperties) {
+        Map<SchemaProperty, ConcreteProperty> moved = new IdentityHashMap<>();
+        for(ConcreteProperty cp : replaced.propertiesProperty()) {
+            boolean filled = !cp.getValue().isEmpty();
+            if(filled)
+                propertyDeltas.merge(cp.getSchemaProperty(), -1, Integer::sum);
+            SchemaProperty sp = targetProperties.get(TextNormalizer.fold(cp.getName()));
+            if(sp == null || moved.containsKey(sp))
+                continue;
+            ConcreteProperty property = new ConcreteProperty(sp, cp.getJustification());
+            if(filled)
+                property.setValue(cp.getValue());
+            moved.put(sp, property);
+            if(filled)
+                propertyDeltas.merge(sp, 1, Integer::sum);
+        }
+
+        ArrayList<ConcreteProperty> properties = new ArrayList<>();
+        for(SchemaProperty sp : target.propertiesProperty())
+            properties.add(moved.containsKey(sp) ? moved.get(sp) : new ConcreteProperty(sp));
+        return new ConcreteCategory(target, replaced.getJustification(), properties);
+    }
+
+    public int getUsesCount() { return uses.size(); }
+
+    @Override
+    public Void execute() {
+        Set<Interview> modified = Collections.newSetFromMap(new IdentityHashMap<>());
+        for(Use use : uses) {
+            use.index = use.moment.indexOfConcreteCategory(use.replaced);
+            use.moment.removeCategory(use.replaced);
+            if(use.merged) {
+                use.descriptemes.forEach(use.replacement.getJustification()::addDescripteme);
+                use.filledProperties.forEach((filled, cp) -> {
+                    filled.setValue(cp.getValue());
+                    cp.getJustification().descriptemesProperty().forEach(filled.getJustification()::addDescripteme);
+                });
+                use.dropped.forEach(d -> d.getInterviewText().removeDescripteme(d));
+            }
+            else
+                use.moment.addCategory(use.index, use.replacement);
+            modified.add(use.interview);
+        }
+        sourceIndex = parent.getChildIndex(source);
+        parent.removeChild(source);
+        source.setExists(false);
+        updateCounters(modified, 1);
+        return null;
+    }
+
+    @Override
+    public Void undo() {
+        parent.addChildAt(source, sourceIndex);
+        source.setExists(true);
+        Set<Interview> modified = Collections.newSetFromMap(new IdentityHashMap<>());
+        for(int i = uses.size() - 1; i >= 0; i--) {
+            Use use = uses.get(i);
+            if(use.merged) {
+                use.dropped.forEach(d -> d.getInterviewText().addDescripteme(d));
+                use.filledProperties.forEach((filled, cp) -> {
+                    cp.getJustification().descriptemesProperty().forEach(filled.getJustification()::removeDescripteme);
+                    filled.setValue("");
+                });
+                use.descriptemes.forEach(use.replacement.getJustification()::removeDescripteme);
+            }
+            else
+                use.moment.removeCategory(use.replacement);
+            use.moment.addCategory(use.index, use.replaced);
+            modified.add(use.interview);
+        }
+        updateCounters(modified, -1);
+        return null;
+    }
+
+    private void updateCounters(Set<Interview> modified, int direction) {
+        UsesCountDeltas.flushAll();
+        source.setNumberOfUsesInModelisation(source.numberOfUsesInModelisationProperty().get() - direction * uses.size());
+        target.setNumberOfUsesInModelisation(target.numberOfUsesInModelisationProperty().get() + direction * replacements);
+        propertyDeltas.forEach((sp, delta) ->
+                sp.setNumberOfUsesInModelisation(sp.numberOfUsesInModelisationProperty().get() + direction * delta));
+        modified.forEach(statistics::setOutdated);
+    }
+
+    @Override
+    protected long estimatedSize() {
+        long size = 200;
+        for(Use use : uses)
+            size += use.merged ? 100 + 100 * use.descriptemes.size() : 200 + 150 * use.replacement.propertiesProperty().size();
+        return size;
+    }
+}
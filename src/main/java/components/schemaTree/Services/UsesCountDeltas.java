@@ -0,0 +1,72 @@
+package components.schemaTree.Services;
+
+import application.history.HistoryManager;
+import javafx.application.Platform;
+
+import java.util.*;
+import java.util.function.ObjIntConsumer;
+import java.util.function.ToIntFunction;
+
+public class UsesCountDeltas<Element> {
+    /*
+    Changes of the uses counters gathered during a user action.
+    A user action can add or remove thousands of uses (e.g. undoing the deletion of a moment with its sub-moments):
+    each counter is written once, when the action is over, instead of once per use.
+    The pending changes are also applied before a new user action starts (a HistoryManager listener), so the counters
+    are up to date when an action reads them, even if the previous one ended in the same pulse.
+     */
+
+    // the instances with changes not applied yet
+    private static final Set<UsesCountDeltas<?>> pending = Collections.newSetFromMap(new IdentityHashMap<>());
+    static {
+        HistoryManager.addBeforeUserActionListener(UsesCountDeltas::flushAll);
+    }
+
+    private final ToIntFunction<Element> getCount;
+    private final ObjIntConsumer<Element> setCount;
+    private final Map<Element, Integer> deltas = new IdentityHashMap<>();
+    private long userActionId = HistoryManager.noUserAction;
+    private boolean flushScheduled = false;
+
+    public UsesCountDeltas(ToIntFunction<Element> getCount, ObjIntConsumer<Element> setCount) {
+        this.getCount = getCount;
+        this.setCount = setCount;
+    }
+
+    public void add(Element element, int delta) {
+        if (delta == 0)
+            return;
+
+        // the changes of a previous user action are applied before the ones of the new action
+        long currentUserActionId = HistoryManager.getCurrentUserActionId();
+        if (currentUserActionId != userActionId) {
+            flushAll();
+            userActionId = currentUserActionId;
+        }
+
+        deltas.merge(element, delta, Integer::sum);
+        pending.add(this);
+        if (!flushScheduled) {
+            flushScheduled = true;
+            // the action is over when the event that triggered it has been handled
+            Platform.runLater(this::flush);
+        }
+    }
+
+    public static void flushAll() {
+        for (UsesCountDeltas<?> deltas : new ArrayList<>(pending))
+            deltas.flush();
+    }
+
+    public void flush() {
+        flushScheduled = false;
+        pending.remove(this);
+        if (deltas.isEmpty())
+            return;
+        for (Map.Entry<Element, Integer> delta : deltas.entrySet()) {
+            if (delta.getValue() != 0)
+                setCount.accept(delta.getKey(), getCount.applyAsInt(delta.getKey()) + delta.getValue());
+        }
+        deltas.clear();
+    }
+}
@@ -1,6 +1,7 @@
 package components.schemaTree.Services.categoryUsesCounter;
 
 import components.modelisationSpace.hooks.ModelisationSpaceHook;
+import components.schemaTree.Services.UsesCountDeltas;
 import models.Moment;
 import models.Project;
 import models.SchemaCategory;
@@ -9,6 +10,9 @@ public class SchemaCategoryUsesCounter {
 
     private ModelisationSpaceHook modelisationSpaceHook;
     private enum CountingMethod { INCREMENT, DECREMENT };
+    private final UsesCountDeltas<SchemaCategory> deltas = new UsesCountDeltas<>(
+            sc -> sc.numberOfUsesInModelisationProperty().get(),
+            SchemaCategory::setNumberOfUsesInModelisation);
 
     public SchemaCategoryUsesCounter(Project project, ModelisationSpaceHook modelisationSpaceHook) {
         initalize(project);
@@ -18,13 +22,11 @@ public class SchemaCategoryUsesCounter {
     public void setupModelisationSpaceHooks(ModelisationSpaceHook msh) {
         modelisationSpaceHook = msh;
         modelisationSpaceHook.addOnConcreteCategoryAdded(cc -> {
-            SchemaCategory sc = cc.getSchemaCategory();
-            sc.setNumberOfUsesInModelisation(sc.numberOfUsesInModelisationProperty().get() + 1);
+            deltas.add(cc.getSchemaCategory(), 1);
         });
 
         modelisationSpaceHook.addOnConcreteCategoryRemoved(cc -> {
-            SchemaCategory sc = cc.getSchemaCategory();
-            sc.setNumberOfUsesInModelisation(sc.numberOfUsesInModelisationProperty().get() - 1);
+            deltas.add(cc.getSchemaCategory(), -1);
         });
 
         modelisationSpaceHook.addOnMomentAdded(moment -> {
@@ -42,16 +44,19 @@ public class SchemaCategoryUsesCounter {
 
     private void initalize(Project project) {
         reinitializeCounters(project);
-        project.interviewsProperty().forEach(interview -> {
-            interview.getRootMoment().momentsProperty().forEach(moment -> { countThroughAMoment(moment, CountingMethod.INCREMENT );});
+        //the statistics only recount the interviews modified since they were saved
+        project.getUsageStatistics().update(project);
+        project.getUsageStatistics().getTotals().forEach((element, uses) -> {
+            if(element instanceof SchemaCategory)
+                deltas.add((SchemaCategory) element, uses);
         });
+        deltas.flush();
     }
 
     private void countThroughAMoment(Moment m, CountingMethod cm) {
         m.concreteCategoriesProperty().forEach(concreteCategory -> {
-            SchemaCategory sc = concreteCategory.getSchemaCategory();
             int i = cm == CountingMethod.INCREMENT ? 1 : cm == CountingMethod.DECREMENT ? -1 : 0;
-            sc.setNumberOfUsesInModelisation(sc.numberOfUsesInModelisationProperty().get() + i);
+            deltas.add(concreteCategory.getSchemaCategory(), i);
         });
         m.momentsProperty().forEach(moment -> { countThroughAMoment(moment, cm); });
     }
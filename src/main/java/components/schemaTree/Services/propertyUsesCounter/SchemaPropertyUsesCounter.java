@@ -1,7 +1,7 @@
 package components.schemaTree.Services.propertyUsesCounter;
 
 import components.modelisationSpace.hooks.ModelisationSpaceHook;
-import components.schemaTree.Services.categoryUsesCounter.ResetCategoryUsesCounterVisitor;
+import components.schemaTree.Services.UsesCountDeltas;
 
 import models.*;
 
@@ -9,6 +9,9 @@ public class SchemaPropertyUsesCounter {
 
     private ModelisationSpaceHook modelisationSpaceHook;
     private enum CountingMethod { INCREMENT, DECREMENT };
+    private final UsesCountDeltas<SchemaProperty> deltas = new UsesCountDeltas<>(
+            sp -> sp.numberOfUsesInModelisationProperty().get(),
+            SchemaProperty::setNumberOfUsesInModelisation);
 
     public SchemaPropertyUsesCounter(Project project, ModelisationSpaceHook modelisationSpaceHook) {
         initalize(project);
@@ -43,8 +46,7 @@ public class SchemaPropertyUsesCounter {
                 else if(concreteProperty.getValue().isEmpty())
                     i = -1;
             }
-            if(i != 0)
-                sp.setNumberOfUsesInModelisation(sp.numberOfUsesInModelisationProperty().get() + i);
+            deltas.add(sp, i);
         });
     }
 
@@ -54,9 +56,13 @@ public class SchemaPropertyUsesCounter {
 
     private void initalize(Project project) {
         reinitializeCounters(project);
-        project.interviewsProperty().forEach(interview -> {
-            interview.getRootMoment().momentsProperty().forEach(moment -> { countThroughAMoment(moment, CountingMethod.INCREMENT );});
+        //the statistics only recount the interviews modified since they were saved
+        project.getUsageStatistics().update(project);
+        project.getUsageStatistics().getTotals().forEach((element, uses) -> {
+            if(element instanceof SchemaProperty)
+                deltas.add((SchemaProperty) element, uses);
         });
+        deltas.flush();
     }
 
     private void countThroughAMoment(Moment m, CountingMethod cm) {
@@ -73,7 +79,6 @@ public class SchemaPropertyUsesCounter {
     }
 
     private void countThroughAProperty(ConcreteProperty p, CountingMethod cm) {
-        SchemaProperty sp = p.getSchemaProperty();
         int i = 0;
         if(cm == CountingMethod.INCREMENT) {
             i = !p.getValue().isEmpty() ? 1 : 0;
@@ -81,6 +86,6 @@ public class SchemaPropertyUsesCounter {
         else if(cm == CountingMethod.DECREMENT) {
             i = !p.getValue().isEmpty() ? -1 : 0;
         }
-        sp.setNumberOfUsesInModelisation(sp.numberOfUsesInModelisationProperty().get() + i);
+        deltas.add(p.getSchemaProperty(), i);
     }
 }
@@ -0,0 +1,53 @@
+package components.schemaTree.Services.usageStatistics;
+
+import javafx.beans.value.ChangeListener;
+import javafx.collections.ListChangeListener;
+import models.Interview;
+import models.Project;
+import models.SchemaElement;
+
+public class SchemaUsageStatisticsService {
+
+    /*
+    Keeps the usage statistics of the project up to date: the selected interview is recounted on each update,
+    and the interview that was selected is recounted once more, it may have been modified after its last count.
+    The others keep the counts loaded with the project until a command marks them as outdated.
+     */
+
+    private Project project;
+
+    private final ChangeListener<Interview> onSelectedInterviewChanged = (observable, oldValue, newValue) -> {
+        if(oldValue != null)
+            project.getUsageStatistics().setOutdated(oldValue);
+    };
+
+    private final ListChangeListener<Interview> onInterviewsChanged = change -> {
+        while(change.next()) {
+            for(Interview removed : change.getRemoved())
+                project.getUsageStatistics().removeInterview(removed);
+        }
+    };
+
+    public SchemaUsageStatisticsService(Project project) {
+        this.project = project;
+        project.getUsageStatistics().update(project);
+
+        project.selectedInterviewProperty().addListener(onSelectedInterviewChanged);
+        project.interviewsProperty().addListener(onInterviewsChanged);
+    }
+
+    public int getUses(Interview interview, SchemaElement element) {
+        project.getUsageStatistics().update(project);
+        return project.getUsageStatistics().getUses(interview, element);
+    }
+
+    public int[] getUsesByDepth(SchemaElement element) {
+        project.getUsageStatistics().update(project);
+        return project.getUsageStatistics().getUsesByDepth(element);
+    }
+
+    public void unbind() {
+        project.selectedInterviewProperty().removeListener(onSelectedInterviewChanged);
+        project.interviewsProperty().removeListener(onInterviewsChanged);
+    }
+}
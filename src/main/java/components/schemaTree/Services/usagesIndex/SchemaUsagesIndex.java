@@ -0,0 +1,223 @@
+package components.schemaTree.Services.usagesIndex;
+
+import javafx.collections.ListChangeListener;
+import models.*;
+import utils.OccurrenceCounter;
+
+import java.util.*;
+
+public class SchemaUsagesIndex {
+    /*
+    The concrete categories and properties of each schema category and property, in all the interviews,
+    with the moment of each concrete category. It follows the lists changed by the model commands
+    (and their undo), so finding the uses of an element doesn't walk the moment trees.
+    The index is built on the first query: opening a project doesn't walk all the interviews.
+     */
+
+    private final Project project;
+    private boolean built = false;
+
+    private final Map<SchemaCategory, Set<ConcreteCategory>> categoryUses = new IdentityHashMap<>();
+    private final Map<SchemaProperty, Set<ConcreteProperty>> propertyUses = new IdentityHashMap<>();
+    private final Map<ConcreteCategory, Moment> momentOf = new IdentityHashMap<>();
+    private final Map<ConcreteProperty, ConcreteCategory> categoryOf = new IdentityHashMap<>();
+    private final Map<RootMoment, Interview> interviewOf = new IdentityHashMap<>();
+
+    // each listener knows the owner of its list: the index tells where a concrete element is
+    private final Map<RootMoment, ListChangeListener<Moment>> momentsListeners = new IdentityHashMap<>();
+    private final Map<Moment, ListChangeListener<ConcreteCategory>> categoriesListeners = new IdentityHashMap<>();
+    private final Map<ConcreteCategory, ListChangeListener<ConcreteProperty>> propertiesListeners = new IdentityHashMap<>();
+
+    private final OccurrenceCounter occurrences = new OccurrenceCounter();
+
+    private final ListChangeListener<Interview> onInterviewsChange = change -> {
+        while(change.next()) {
+            change.getRemoved().forEach(interview -> unwatchMoments(interview.getRootMoment()));
+            change.getAddedSubList().forEach(interview -> watchMoments(interview, interview.getRootMoment()));
+        }
+    };
+
+    // a use of a schema element, to navigate to it
+    public static class Use {
+        private final Interview interview;
+        private final Moment moment;
+        private final Justification justification;
+
+        Use(Interview interview, Moment moment, Justification justification) {
+            this.interview = interview;
+            this.moment = moment;
+            this.justification = justification;
+        }
+
+        public Interview getInterview() { return interview; }
+        public Moment getMoment() { return moment; }
+        // the justification of the concrete category or property
+        public Justification getJustification() { return justification; }
+    }
+
+    public SchemaUsagesIndex(Project project) {
+        this.project = project;
+    }
+
+    public void unbind() {
+        if(!built)
+            return;
+        project.interviewsProperty().removeListener(onInterviewsChange);
+        project.interviewsProperty().forEach(interview -> unwatchMoments(interview.getRootMoment()));
+        built = false;
+    }
+
+    public List<ConcreteCategory> getConcreteCategories(SchemaCategory category) {
+        build();
+        return new ArrayList<>(categoryUses.getOrDefault(category, Collections.emptySet()));
+    }
+
+    public List<ConcreteProperty> getConcreteProperties(SchemaProperty property) {
+        build();
+        return new ArrayList<>(propertyUses.getOrDefault(property, Collections.emptySet()));
+    }
+
+    // A category is used by each of its concrete categories, a property by each concrete property with a value
+    public int getUses(SchemaElement element) {
+        build();
+        if(element instanceof SchemaCategory)
+            return categoryUses.getOrDefault(element, Collections.emptySet()).size();
+        int uses = 0;
+        for(ConcreteProperty cp : propertyUses.getOrDefault(element, Collections.emptySet())) {
+            if(!cp.getValue().isEmpty())
+                uses++;
+        }
+        return uses;
+    }
+
+    // the uses of the element, in the order they were indexed
+    public List<Use> listUses(SchemaElement element) {
+        build();
+        List<Use> result = new ArrayList<>();
+        if(element instanceof SchemaCategory) {
+            for(ConcreteCategory cc : categoryUses.getOrDefault(element, Collections.emptySet()))
+                result.add(use(cc, cc.getJustification()));
+        }
+        else {
+            for(ConcreteProperty cp : propertyUses.getOrDefault(element, Collections.emptySet())) {
+                if(!cp.getValue().isEmpty())
+                    result.add(use(categoryOf.get(cp), cp.getJustification()));
+            }
+        }
+        return result;
+    }
+
+    private Use use(ConcreteCategory category, Justification justification) {
+        Moment moment = momentOf.get(category);
+        return new Use(interviewOf.get(moment), moment, justification);
+    }
+
+    public Moment getMoment(ConcreteCategory category) {
+        build();
+        return momentOf.get(category);
+    }
+
+    public ConcreteCategory getConcreteCategory(ConcreteProperty property) {
+        build();
+        return categoryOf.get(property);
+    }
+
+    public Interview getInterview(RootMoment moment) {
+        build();
+        return interviewOf.get(moment);
+    }
+
+    private void build() {
+        if(built)
+            return;
+        built = true;
+        project.interviewsProperty().forEach(interview -> watchMoments(interview, interview.getRootMoment()));
+        project.interviewsProperty().addListener(onInterviewsChange);
+    }
+
+    private void watchMoments(Interview interview, RootMoment parent) {
+        if(!occurrences.add(parent))
+            return;
+        interviewOf.put(parent, interview);
+        ListChangeListener<Moment> listener = change -> {
+            while(change.next()) {
+                change.getRemoved().forEach(this::unwatchMoments);
+                change.getAddedSubList().forEach(moment -> watchMoments(interview, moment));
+            }
+        };
+        momentsListeners.put(parent, listener);
+        parent.momentsProperty().addListener(listener);
+        if(parent instanceof Moment)
+            watchCategories((Moment) parent);
+        parent.momentsProperty().forEach(moment -> watchMoments(interview, moment));
+    }
+
+    private void unwatchMoments(RootMoment parent) {
+        if(!occurrences.remove(parent))
+            return;
+        interviewOf.remove(parent);
+        parent.momentsProperty().removeListener(momentsListeners.remove(parent));
+        if(parent instanceof Moment)
+            unwatchCategories((Moment) parent);
+        parent.momentsProperty().forEach(this::unwatchMoments);
+    }
+
+    private void watchCategories(Moment moment) {
+        ListChangeListener<ConcreteCategory> listener = change -> {
+            while(change.next()) {
+                change.getRemoved().forEach(category -> unwatchCategory(moment, category));
+                change.getAddedSubList().forEach(category -> watchCategory(moment, category));
+            }
+        };
+        categoriesListeners.put(moment, listener);
+        moment.concreteCategoriesProperty().addListener(listener);
+        moment.concreteCategoriesProperty().forEach(category -> watchCategory(moment, category));
+    }
+
+    private void unwatchCategories(Moment moment) {
+        moment.concreteCategoriesProperty().removeListener(categoriesListeners.remove(moment));
+        moment.concreteCategoriesProperty().forEach(category -> unwatchCategory(moment, category));
+    }
+
+    private void watchCategory(Moment moment, ConcreteCategory category) {
+        momentOf.put(category, moment);
+        if(!occurrences.add(category))
+            return;
+        categoryUses.computeIfAbsent(category.getSchemaCategory(), c -> new LinkedHashSet<>()).add(category);
+        ListChangeListener<ConcreteProperty> listener = change -> {
+            while(change.next()) {
+                change.getRemoved().forEach(this::unwatchProperty);
+                change.getAddedSubList().forEach(property -> watchProperty(category, property));
+            }
+        };
+        propertiesListeners.put(category, listener);
+        category.propertiesProperty().addListener(listener);
+        category.propertiesProperty().forEach(property -> watchProperty(category, property));
+    }
+
+    private void unwatchCategory(Moment moment, ConcreteCategory category) {
+        if(!occurrences.remove(category))
+            return;
+        if(momentOf.get(category) == moment)
+            momentOf.remove(category);
+        removeUse(categoryUses, category.getSchemaCategory(), category);
+        category.propertiesProperty().removeListener(propertiesListeners.remove(category));
+        category.propertiesProperty().forEach(this::unwatchProperty);
+    }
+
+    private void watchProperty(ConcreteCategory category, ConcreteProperty property) {
+        categoryOf.put(property, category);
+        propertyUses.computeIfAbsent(property.getSchemaProperty(), p -> new LinkedHashSet<>()).add(property);
+    }
+
+    private void unwatchProperty(ConcreteProperty property) {
+        categoryOf.remove(property);
+        removeUse(propertyUses, property.getSchemaProperty(), property);
+    }
+
+    private static <K, V> void removeUse(Map<K, Set<V>> uses, K element, V use) {
+        Set<V> elementUses = uses.get(element);
+        if(elementUses != null && elementUses.remove(use) && elementUses.isEmpty())
+            uses.remove(element);
+    }
+}
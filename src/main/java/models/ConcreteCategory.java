@@ -9,11 +9,11 @@ import javafx.beans.value.ObservableBooleanValue;
 import javafx.collections.FXCollections;
 import javafx.collections.ListChangeListener;
 import javafx.collections.ObservableList;
+import javafx.collections.WeakListChangeListener;
 import javafx.scene.input.DataFormat;
 import utils.dragAndDrop.IDraggable;
 
 import java.util.ArrayList;
-import java.util.LinkedList;
 
 public class ConcreteCategory implements IDraggable {
 
@@ -22,6 +22,7 @@ public class ConcreteCategory implements IDraggable {
     private Justification justification;
 
     private ListProperty<ConcreteProperty> properties;
+    // weakly referenced by the schema category, which outlives the concrete categories
     private ListChangeListener<SchemaProperty> onPropertiesUpdate = change -> {
         while(change.next()){
             for (SchemaProperty rem : change.getRemoved()) {
@@ -39,19 +40,19 @@ public class ConcreteCategory implements IDraggable {
         this.category = c;
         this.justification = new Justification();
 
-        this.properties = new SimpleListProperty<>(FXCollections.observableList(new LinkedList<>()));
+        this.properties = new SimpleListProperty<>(FXCollections.observableArrayList());
         for(SchemaProperty p: c.propertiesProperty())
             properties.add(new ConcreteProperty(p));
-        c.propertiesProperty().addListener(onPropertiesUpdate);
+        c.propertiesProperty().addListener(new WeakListChangeListener<>(onPropertiesUpdate));
     }
 
     public ConcreteCategory(SchemaCategory c, Justification j, ArrayList<ConcreteProperty> properties) {
         this.category = c;
         this.justification = j;
 
-        this.properties = new SimpleListProperty<>(FXCollections.observableList(new LinkedList<>()));
+        this.properties = new SimpleListProperty<>(FXCollections.observableArrayList());
         this.properties.addAll(properties);
-        c.propertiesProperty().addListener(onPropertiesUpdate);
+        c.propertiesProperty().addListener(new WeakListChangeListener<>(onPropertiesUpdate));
     }
 
     public final SchemaCategory getSchemaCategory() { return category; }
@@ -8,7 +8,8 @@ public class Descripteme extends Fragment {
     public static final DataFormat format = new DataFormat("Descripteme");
 
     // this is the selection (getSelection), the substring of the interview text
-    private final SimpleStringProperty descripteme;
+    // created on first use: most descriptemes are never displayed
+    private SimpleStringProperty descripteme;
 
     // Whether or not the descripteme is highlighted is the interview
     private SimpleBooleanProperty isRevealed = new SimpleBooleanProperty(false);
@@ -18,24 +19,32 @@ public class Descripteme extends Fragment {
 
     public Descripteme(InterviewText interviewText, int startIndex, int endIndex){
         super(interviewText, startIndex, endIndex);
-        descripteme = new SimpleStringProperty();
-        descripteme.set(getSelection());
     }
 
     public Descripteme(Annotation a) {
         super(a.getInterviewText(), a.getIndexRange());
-        descripteme = new SimpleStringProperty();
-        descripteme.set(getSelection());
     }
 
     public InterviewText getInterviewText() { return interviewText; }
 
     public final SimpleStringProperty getSelectionProperty() {
+        if (descripteme == null) {
+            descripteme = new SimpleStringProperty(getSelection());
+        }
         return this.descripteme;
     }
 
     public final String getSelection() {
-        return interviewText.getText().substring(startIndex.get(), endIndex.get()).replace("\n", "").replace("\r", "");
+        // single copy of the range, without line breaks
+        CharSequence text = getFragmentCharSequence();
+        StringBuilder selection = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c != '\n' && c != '\r') {
+                selection.append(c);
+            }
+        }
+        return selection.toString();
     }
 
     public Descripteme duplicate() {
@@ -45,7 +54,9 @@ public class Descripteme extends Fragment {
     public void modifyIndex(int start, int end) {
         startIndex.set(start == -1 ? 0 : start);
         endIndex.set(Math.min(end, interviewText.getText().length()));
-        this.descripteme.set(getSelection());
+        if (this.descripteme != null) {
+            this.descripteme.set(getSelection());
+        }
     }
 
     @Override
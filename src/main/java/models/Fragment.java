@@ -7,6 +7,8 @@ import javafx.scene.input.DataFormat;
 import utils.Emphasable;
 import utils.dragAndDrop.IDraggable;
 
+import java.nio.CharBuffer;
+
 public abstract class Fragment extends Emphasable implements IDraggable {
     public static final DataFormat format = new DataFormat("Fragment");
 
@@ -35,12 +37,27 @@ public abstract class Fragment extends Emphasable implements IDraggable {
         return interviewText.getText().substring(startIndex.getValue(), endIndex.getValue());
     }
 
+    // View over the interview text, without copying it
+    public CharSequence getFragmentCharSequence() {
+        return CharBuffer.wrap(interviewText.getText(), startIndex.getValue(), endIndex.getValue());
+    }
+
     public String getCroppedFragmentText() {
-        String fragmentText = getFragmentText().replace("\n", "").replace("\r", "");
-        if (fragmentText.length() > 20) {
-            return fragmentText.substring(0, 17) + "...";
+        // only the first characters are needed, don't copy the whole fragment
+        CharSequence text = getFragmentCharSequence();
+        StringBuilder fragmentText = new StringBuilder(20);
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '\n' || c == '\r') {
+                continue;
+            }
+            if (fragmentText.length() == 20) {
+                fragmentText.setLength(17);
+                return fragmentText.append("...").toString();
+            }
+            fragmentText.append(c);
         }
-        return fragmentText;
+        return fragmentText.toString();
     }
 
     @Override
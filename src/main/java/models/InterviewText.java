@@ -3,6 +3,7 @@ package models;
 import javafx.beans.Observable;
 import javafx.beans.property.SimpleListProperty;
 import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
 import javafx.collections.ObservableList;
 
 import java.io.Serializable;
@@ -12,6 +13,9 @@ public class InterviewText implements Serializable {
 
     private final String text;
     private final SimpleListProperty<Annotation> annotations;
+    // Annotations sorted by start index, kept in sync with the list.
+    // Annotations of a text don't overlap, so an index is covered by at most the floor entry.
+    private final TreeMap<Integer, List<Annotation>> annotationsByStart = new TreeMap<>();
 
     // Don't save this on disk (redundancy)
     private final ObservableList<Descripteme> descriptemes = FXCollections.observableArrayList(descripteme ->
@@ -22,13 +26,15 @@ public class InterviewText implements Serializable {
 
     public InterviewText(String text) {
         this.text = text;
-        this.annotations = new SimpleListProperty<>(FXCollections.observableList(new LinkedList<>()));
+        this.annotations = new SimpleListProperty<>(FXCollections.observableArrayList());
+        bindAnnotationsIndex();
     }
 
     public InterviewText(String text, ArrayList<Annotation> annotations) {
         this.text = text;
-        this.annotations = new SimpleListProperty<>(FXCollections.observableList(new LinkedList<>()));
-        annotations.addAll(annotations);
+        this.annotations = new SimpleListProperty<>(FXCollections.observableArrayList());
+        bindAnnotationsIndex();
+        this.annotations.addAll(annotations);
     }
 
     public String getText() { return text; }
@@ -45,15 +51,65 @@ public class InterviewText implements Serializable {
         annotations.add(annotation);
     }
 
+    public void addAnnotations(Collection<Annotation> added) {
+        annotations.addAll(added);
+    }
+
+    public void removeAnnotations(Collection<Annotation> removed) {
+        // identity set: removeAll calls contains() for each annotation of the text
+        Set<Annotation> toRemove = Collections.newSetFromMap(new IdentityHashMap<>());
+        toRemove.addAll(removed);
+        annotations.removeAll(toRemove);
+    }
+
     public Annotation getAnnotationByIndex(int index) {
-        for (Annotation annotation : this.annotations) {
-            if (annotation.getStartIndex() <= index && index < annotation.getEndIndex()) {
-                return annotation;
+        Map.Entry<Integer, List<Annotation>> entry = annotationsByStart.floorEntry(index);
+        if (entry != null) {
+            for (Annotation annotation : entry.getValue()) {
+                if (index < annotation.getEndIndex()) {
+                    return annotation;
+                }
             }
         }
         return null;
     }
 
+    // Annotations overlapping [start, end), sorted by start index
+    public List<Annotation> getAnnotationsInRange(int start, int end) {
+        List<Annotation> result = new ArrayList<>();
+        Integer from = annotationsByStart.floorKey(start);
+        if (from == null) {
+            from = start;
+        }
+        for (List<Annotation> annotationsAtStart : annotationsByStart.subMap(from, true, end, false).values()) {
+            for (Annotation annotation : annotationsAtStart) {
+                if (annotation.getEndIndex() > start) {
+                    result.add(annotation);
+                }
+            }
+        }
+        return result;
+    }
+
+    private void bindAnnotationsIndex() {
+        annotations.addListener((ListChangeListener.Change<? extends Annotation> c) -> {
+            while (c.next()) {
+                for (Annotation removed : c.getRemoved()) {
+                    List<Annotation> annotationsAtStart = annotationsByStart.get(removed.getStartIndex());
+                    if (annotationsAtStart != null) {
+                        annotationsAtStart.removeIf(a -> a == removed);
+                        if (annotationsAtStart.isEmpty()) {
+                            annotationsByStart.remove(removed.getStartIndex());
+                        }
+                    }
+                }
+                for (Annotation added : c.getAddedSubList()) {
+                    annotationsByStart.computeIfAbsent(added.getStartIndex(), k -> new ArrayList<>(1)).add(added);
+                }
+            }
+        });
+    }
+
     public ArrayList<Descripteme> getDescriptemesByIndex(int index) {
         ArrayList<Descripteme> foundDescriptemes = new ArrayList<>();
         for (Descripteme descripteme : this.descriptemes) {
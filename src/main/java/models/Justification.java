@@ -4,14 +4,13 @@ import javafx.beans.property.SimpleListProperty;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 
-import java.util.LinkedList;
 
 public class Justification {
 
     private SimpleListProperty<Descripteme> descriptemes;
 
     public Justification() {
-        this.descriptemes = new SimpleListProperty<Descripteme>(FXCollections.observableList(new LinkedList<Descripteme>()));
+        this.descriptemes = new SimpleListProperty<Descripteme>(FXCollections.observableArrayList());
     }
 
     public void addDescripteme(Descripteme d) {
@@ -6,12 +6,14 @@ import components.modelisationSpace.moment.controllers.MomentController;
 import javafx.beans.property.*;
 import javafx.beans.value.ChangeListener;
 import javafx.beans.value.ObservableValue;
+import javafx.beans.value.WeakChangeListener;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.scene.input.DataFormat;
 import utils.dragAndDrop.IDraggable;
 
-import java.util.LinkedList;
+import java.util.IdentityHashMap;
+import java.util.Map;
 
 public class Moment extends RootMoment implements IDraggable {
 
@@ -31,6 +33,8 @@ public class Moment extends RootMoment implements IDraggable {
     private SimpleBooleanProperty transitional; //true = transitional
 
     private RootMoment parent;
+    // the schema outlives the moments: it only has weak references to these listeners
+    private final Map<ConcreteCategory, ChangeListener<Boolean>> categoryExistsListeners = new IdentityHashMap<>();
     private MomentController controller;
 
     public Moment(String name) {
@@ -38,7 +42,7 @@ public class Moment extends RootMoment implements IDraggable {
         this.name = new SimpleStringProperty(name);
         this.comment = new SimpleStringProperty();
         this.justification = new Justification();
-        this.categories = new SimpleListProperty<>(FXCollections.observableList(new LinkedList<>()));
+        this.categories = new SimpleListProperty<>(FXCollections.observableArrayList());
         this.commentVisible = new SimpleBooleanProperty(false);
         this.collapsed = new SimpleBooleanProperty();
         this.transitional = new SimpleBooleanProperty(false);
@@ -49,7 +53,7 @@ public class Moment extends RootMoment implements IDraggable {
         this.name = new SimpleStringProperty(name);
         this.comment = new SimpleStringProperty();
         this.justification = new Justification();
-        this.categories = new SimpleListProperty<>(FXCollections.observableList(new LinkedList<>()));
+        this.categories = new SimpleListProperty<>(FXCollections.observableArrayList());
         this.commentVisible = new SimpleBooleanProperty(false);
         this.collapsed = new SimpleBooleanProperty();
         this.transitional = new SimpleBooleanProperty(false);
@@ -61,7 +65,7 @@ public class Moment extends RootMoment implements IDraggable {
         this.name = new SimpleStringProperty(name);
         this.comment = new SimpleStringProperty();
         this.justification = new Justification();
-        this.categories = new SimpleListProperty<>(FXCollections.observableList(new LinkedList<>()));
+        this.categories = new SimpleListProperty<>(FXCollections.observableArrayList());
         this.commentVisible = new SimpleBooleanProperty(false);
         this.collapsed = new SimpleBooleanProperty();
         this.transitional = new SimpleBooleanProperty(false);
@@ -73,7 +77,7 @@ public class Moment extends RootMoment implements IDraggable {
         this.name = new SimpleStringProperty(name);
         this.comment = new SimpleStringProperty(comment);
         this.justification = j;
-        this.categories = new SimpleListProperty<>(FXCollections.observableList(new LinkedList<>()));
+        this.categories = new SimpleListProperty<>(FXCollections.observableArrayList());
         this.commentVisible = new SimpleBooleanProperty(commentVisible);
         this.collapsed = new SimpleBooleanProperty();
         this.transitional = new SimpleBooleanProperty(false);
@@ -85,7 +89,7 @@ public class Moment extends RootMoment implements IDraggable {
         this.comment = new SimpleStringProperty();
         this.justification = new Justification();
         this.commentVisible = new SimpleBooleanProperty(false);
-        this.categories = new SimpleListProperty<>(FXCollections.observableList(new LinkedList<>()));
+        this.categories = new SimpleListProperty<>(FXCollections.observableArrayList());
         this.collapsed = new SimpleBooleanProperty();
         this.transitional = new SimpleBooleanProperty(false);
     }
@@ -95,7 +99,7 @@ public class Moment extends RootMoment implements IDraggable {
         this.name = new SimpleStringProperty(name);
         this.comment = new SimpleStringProperty(comment);
         this.justification = j;
-        this.categories = new SimpleListProperty<>(FXCollections.observableList(new LinkedList<>()));
+        this.categories = new SimpleListProperty<>(FXCollections.observableArrayList());
         this.commentVisible = new SimpleBooleanProperty(commentVisible);
         this.collapsed = new SimpleBooleanProperty(collapsed);
         this.transitional = new SimpleBooleanProperty(transitional);
@@ -154,6 +158,7 @@ public class Moment extends RootMoment implements IDraggable {
      }
     public void removeCategory(ConcreteCategory cc) {
         categories.remove(cc);
+        unbindListener(cc);
     }
     public ObservableList<ConcreteCategory> concreteCategoriesProperty() { return categories; }
     public int indexOfConcreteCategory(ConcreteCategory cc) {
@@ -173,15 +178,23 @@ public class Moment extends RootMoment implements IDraggable {
 
     private void bindListener(ConcreteCategory category) {
         Moment m = this;
-        category.existsProperty().addListener(new ChangeListener<>() {
+        ChangeListener<Boolean> listener = new ChangeListener<>() {
             @Override
             public void changed(ObservableValue<? extends Boolean> observableValue, Boolean aBoolean, Boolean t1) {
-                if(!t1){
+                // a released listener may still be called until it is collected
+                if(!t1 && categoryExistsListeners.get(category) == this){
                     HistoryManager.addCommand(new RemoveConcreteCategory(m, category), false);
-                    category.existsProperty().removeListener(this);
                 }
             }
-        });
+        };
+        unbindListener(category);
+        categoryExistsListeners.put(category, listener);
+        category.existsProperty().addListener(new WeakChangeListener<>(listener));
+    }
+
+    private void unbindListener(ConcreteCategory category) {
+        // the weak listener is dropped by the schema category once this one is collected
+        categoryExistsListeners.remove(category);
     }
 
     public boolean hadThisCategory(ConcreteCategory category) {
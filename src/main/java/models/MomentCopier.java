@@ -0,0 +1,118 @@
+package models;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class MomentCopier {
+    /*
+    Deep copy of moments, with their sub-moments, concrete categories, concrete properties and justifications.
+    The copies keep referencing the same schema elements.
+
+    The descriptemes are moved to the target interview text: when it differs from the original one,
+    each descripteme is matched to the occurrence of its text that is the closest to its original position,
+    and is dropped if the target text doesn't contain it.
+     */
+
+    private final InterviewText target;
+    // a descripteme used in several justifications stays shared by the copies
+    private final Map<Descripteme, Descripteme> copiedDescriptemes = new IdentityHashMap<>();
+    private final List<Descripteme> droppedDescriptemes = new ArrayList<>();
+
+    public MomentCopier(InterviewText target) {
+        this.target = target;
+    }
+
+    public Moment copy(Moment moment) {
+        Moment copy = new Moment(
+                moment.getName(),
+                moment.getComment(),
+                moment.isCommentVisible(),
+                copy(moment.getJustification()),
+                moment.isCollapsed(),
+                moment.getTransitional()
+        );
+        for (ConcreteCategory category : moment.concreteCategoriesProperty()) {
+            if (category.existsProperty().get())
+                copy.addCategory(copy(category));
+        }
+        for (Moment subMoment : moment.momentsProperty()) {
+            Moment subCopy = copy(subMoment);
+            copy.addMoment(subCopy);
+            subCopy.addParent(copy);
+        }
+        return copy;
+    }
+
+    public List<Moment> copy(List<Moment> moments) {
+        List<Moment> copies = new ArrayList<>(moments.size());
+        for (Moment moment : moments)
+            copies.add(copy(moment));
+        return copies;
+    }
+
+    // the descriptemes of the copies, added to the target interview text once the copies are in the modelisation
+    public List<Descripteme> getCopiedDescriptemes() { return new ArrayList<>(copiedDescriptemes.values()); }
+
+    public List<Descripteme> getDroppedDescriptemes() { return droppedDescriptemes; }
+
+    private ConcreteCategory copy(ConcreteCategory category) {
+        ArrayList<ConcreteProperty> properties = new ArrayList<>();
+        for (ConcreteProperty property : category.propertiesProperty()) {
+            ConcreteProperty copy = new ConcreteProperty(property.getSchemaProperty(), copy(property.getJustification()));
+            copy.setValue(property.getValue());
+            properties.add(copy);
+        }
+        return new ConcreteCategory(category.getSchemaCategory(), copy(category.getJustification()), properties);
+    }
+
+    private Justification copy(Justification justification) {
+        Justification copy = new Justification();
+        for (Descripteme descripteme : justification.descriptemesProperty()) {
+            Descripteme d = copy(descripteme);
+            if (d != null)
+                copy.addDescripteme(d);
+        }
+        return copy;
+    }
+
+    private Descripteme copy(Descripteme descripteme) {
+        if (copiedDescriptemes.containsKey(descripteme))
+            return copiedDescriptemes.get(descripteme);
+        if (droppedDescriptemes.contains(descripteme))
+            return null;
+
+        Descripteme copy = null;
+        String sourceText = descripteme.getInterviewText().getText();
+        int start = descripteme.getStartIndex();
+        int end = descripteme.getEndIndex();
+        if (sourceText.equals(target.getText())) {
+            copy = new Descripteme(target, start, end);
+        }
+        else {
+            int newStart = closestOccurrence(sourceText.substring(start, end), start);
+            if (newStart != -1)
+                copy = new Descripteme(target, newStart, newStart + end - start);
+        }
+
+        if (copy != null)
+            copiedDescriptemes.put(descripteme, copy);
+        else
+            droppedDescriptemes.add(descripteme);
+        return copy;
+    }
+
+    private int closestOccurrence(String fragment, int position) {
+        String text = target.getText();
+        if (fragment.isEmpty())
+            return -1;
+        int after = text.indexOf(fragment, Math.min(position, text.length()));
+        int before = text.lastIndexOf(fragment, position);
+        if (after == -1)
+            return before;
+        if (before == -1)
+            return after;
+        return position - before <= after - position ? before : after;
+    }
+}
@@ -1,5 +1,6 @@
 package models;
 
+import application.history.CommandLog;
 import persistency.ProjectSaver;
 import javafx.beans.property.*;
 import javafx.beans.value.ObservableValue;
@@ -21,6 +22,9 @@ public class Project implements Serializable {
 
     private SimpleObjectProperty<Interview> selectedInterview;
 
+    private SchemaUsageStatistics usageStatistics;
+    private CommandLog commandLog;
+
     public Project(String name, SchemaTreeRoot baseScheme) {
         this.name = new SimpleStringProperty(name);
         this.schemaTreeRoot = new SimpleObjectProperty<>(baseScheme);
@@ -29,6 +33,7 @@ public class Project implements Serializable {
         this.readOnlyInterviews = new ReadOnlyListWrapper<>(this.interviews);
 
         this.selectedInterview = new SimpleObjectProperty<>();
+        this.usageStatistics = new SchemaUsageStatistics();
     }
 
     public String getName() { return this.name.get(); }
@@ -55,6 +60,13 @@ public class Project implements Serializable {
     }
     public ObservableValue<Interview> selectedInterviewProperty() { return selectedInterview; }
 
+    public SchemaUsageStatistics getUsageStatistics() { return usageStatistics; }
+    public void setUsageStatistics(SchemaUsageStatistics usageStatistics) { this.usageStatistics = usageStatistics; }
+
+    // the undo history saved with the project file, null for a new project
+    public CommandLog getCommandLog() { return commandLog; }
+    public void setCommandLog(CommandLog commandLog) { this.commandLog = commandLog; }
+
     public void saveAs(String name, String path) throws IOException {
         if(!name.contains(".upmt"))
             name += ".upmt";
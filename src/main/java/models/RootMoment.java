@@ -6,13 +6,16 @@ import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import utils.Emphasable;
 
-import java.util.LinkedList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
 
 public class RootMoment extends Emphasable {
     private ListProperty<Moment> submoments;
 
     public RootMoment() {
-        this.submoments = new SimpleListProperty<>(FXCollections.observableList(new LinkedList<>()));
+        this.submoments = new SimpleListProperty<>(FXCollections.observableArrayList());
     }
 
     public void addMoment(int index, Moment m) {
@@ -27,6 +30,17 @@ public class RootMoment extends Emphasable {
         submoments.remove(m);
     }
 
+    // add or remove several moments with a single list change
+    public void addMoments(int index, Collection<Moment> moments) {
+        submoments.addAll(index, moments);
+    }
+
+    public void removeMoments(Collection<Moment> moments) {
+        Set<Moment> toRemove = Collections.newSetFromMap(new IdentityHashMap<>());
+        toRemove.addAll(moments);
+        submoments.removeAll(toRemove);
+    }
+
     public ObservableList<Moment> momentsProperty() { return submoments; }
 
     public int indexOf(Moment m) {
@@ -10,7 +10,6 @@ import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.scene.input.DataFormat;
 
-import java.util.LinkedList;
 
 public class SchemaCategory extends SchemaElement implements IRemovable {
 
@@ -25,7 +24,7 @@ public class SchemaCategory extends SchemaElement implements IRemovable {
     public SchemaCategory(String name) {
         super(name);
         this.exists = new SimpleBooleanProperty(true);
-        this.properties = new SimpleListProperty<SchemaProperty>(FXCollections.observableList(new LinkedList<SchemaProperty>()));
+        this.properties = new SimpleListProperty<SchemaProperty>(FXCollections.observableArrayList());
         this.nbUsesInModelisation = new SimpleIntegerProperty(0);
     }
 
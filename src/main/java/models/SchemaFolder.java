@@ -10,7 +10,6 @@ import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.scene.input.DataFormat;
 
-import java.util.LinkedList;
 
 public class SchemaFolder extends SchemaElement implements IRemovable {
 
@@ -23,11 +22,11 @@ public class SchemaFolder extends SchemaElement implements IRemovable {
 
     public SchemaFolder(String name) {
         super(name);
-        this.categories = new SimpleListProperty<SchemaCategory>(FXCollections.observableList(new LinkedList<SchemaCategory>()));
-        this.folders = new SimpleListProperty<SchemaFolder>(FXCollections.observableList(new LinkedList<SchemaFolder>()));
+        this.categories = new SimpleListProperty<SchemaCategory>(FXCollections.observableArrayList());
+        this.folders = new SimpleListProperty<SchemaFolder>(FXCollections.observableArrayList());
         this.exists = new SimpleBooleanProperty(true);
 
-        this.children = new SimpleListProperty<SchemaTreePluggable>(FXCollections.observableList(new LinkedList<SchemaTreePluggable>()));
+        this.children = new SimpleListProperty<SchemaTreePluggable>(FXCollections.observableArrayList());
     }
 
     public final ObservableList<SchemaCategory> categoriesProperty() { return categories; }
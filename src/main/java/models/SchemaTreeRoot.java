@@ -9,7 +9,6 @@ import javafx.collections.ObservableList;
 import javafx.scene.input.DataFormat;
 import utils.GlobalVariables;
 
-import java.util.LinkedList;
 
 public class SchemaTreeRoot extends SchemaElement {
 
@@ -18,7 +17,7 @@ public class SchemaTreeRoot extends SchemaElement {
 
     public SchemaTreeRoot(String name) {
         super(name);
-        this.folders = new SimpleListProperty<SchemaFolder>(FXCollections.observableList(new LinkedList<SchemaFolder>()));
+        this.folders = new SimpleListProperty<SchemaFolder>(FXCollections.observableArrayList());
         GlobalVariables.getGlobalVariables().setSchemaTreeRoot(this);
     }
 
@@ -0,0 +1,137 @@
+package models;
+
+import java.util.*;
+
+public class SchemaUsageStatistics {
+    /*
+    Number of uses of the schema categories and properties, per interview and per depth of the moments using them.
+    A category is used by each of its concrete categories, a property by each concrete property with a value.
+
+    The moments are edited in the selected interview: it is recounted on each update, and an interview is
+    recounted once more after it has been left. The commands that change every interview (e.g. removing a
+    schema property or merging two categories) mark the interviews they modify as outdated.
+    The counts are saved with the project, so that they don't have to be computed again when it is opened.
+     */
+
+    public static class Uses {
+        private final Interview interview;
+        private final SchemaElement element;
+        // usesByDepth[0]: uses in the top level moments
+        private int[] usesByDepth;
+
+        public Uses(Interview interview, SchemaElement element, int[] usesByDepth) {
+            this.interview = interview;
+            this.element = element;
+            this.usesByDepth = usesByDepth;
+        }
+
+        public Interview getInterview() { return interview; }
+        public SchemaElement getElement() { return element; }
+        public int[] getUsesByDepth() { return usesByDepth.clone(); }
+
+        public int getTotal() {
+            int total = 0;
+            for (int uses : usesByDepth)
+                total += uses;
+            return total;
+        }
+
+        private void add(int depth) {
+            if (depth > usesByDepth.length)
+                usesByDepth = Arrays.copyOf(usesByDepth, depth);
+            usesByDepth[depth - 1]++;
+        }
+    }
+
+    private final Map<Interview, Map<SchemaElement, Uses>> usesByInterview = new IdentityHashMap<>();
+    private final Set<Interview> outdatedInterviews = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    public void setUses(Interview interview, Collection<Uses> uses) {
+        Map<SchemaElement, Uses> interviewUses = new IdentityHashMap<>();
+        for (Uses u : uses)
+            interviewUses.put(u.element, u);
+        usesByInterview.put(interview, interviewUses);
+        outdatedInterviews.remove(interview);
+    }
+
+    public void setOutdated(Interview interview) { outdatedInterviews.add(interview); }
+
+    public void removeInterview(Interview interview) {
+        usesByInterview.remove(interview);
+        outdatedInterviews.remove(interview);
+    }
+
+    // Recount the selected interview, the ones that may have changed and the ones that were never counted
+    public void update(Project project) {
+        Set<Interview> existing = Collections.newSetFromMap(new IdentityHashMap<>());
+        existing.addAll(project.interviewsProperty());
+        usesByInterview.keySet().retainAll(existing);
+        outdatedInterviews.retainAll(existing);
+        for (Interview interview : project.interviewsProperty()) {
+            if (interview == project.getSelectedInterview() || outdatedInterviews.contains(interview) || !usesByInterview.containsKey(interview))
+                setUses(interview, count(interview));
+        }
+    }
+
+    public Collection<Interview> getInterviews() { return usesByInterview.keySet(); }
+
+    public Collection<Uses> getUses(Interview interview) {
+        return usesByInterview.getOrDefault(interview, Collections.emptyMap()).values();
+    }
+
+    public int getUses(Interview interview, SchemaElement element) {
+        Uses uses = usesByInterview.getOrDefault(interview, Collections.emptyMap()).get(element);
+        return uses == null ? 0 : uses.getTotal();
+    }
+
+    public int getUses(SchemaElement element) {
+        int total = 0;
+        for (Interview interview : usesByInterview.keySet())
+            total += getUses(interview, element);
+        return total;
+    }
+
+    // uses of the element in all the interviews, by depth of the moments (index 0: top level moments)
+    public int[] getUsesByDepth(SchemaElement element) {
+        int[] result = new int[0];
+        for (Map<SchemaElement, Uses> interviewUses : usesByInterview.values()) {
+            Uses uses = interviewUses.get(element);
+            if (uses == null)
+                continue;
+            if (uses.usesByDepth.length > result.length)
+                result = Arrays.copyOf(result, uses.usesByDepth.length);
+            for (int i = 0; i < uses.usesByDepth.length; i++)
+                result[i] += uses.usesByDepth[i];
+        }
+        return result;
+    }
+
+    // total uses of each schema element
+    public Map<SchemaElement, Integer> getTotals() {
+        Map<SchemaElement, Integer> totals = new IdentityHashMap<>();
+        for (Map<SchemaElement, Uses> interviewUses : usesByInterview.values()) {
+            for (Uses uses : interviewUses.values())
+                totals.merge(uses.element, uses.getTotal(), Integer::sum);
+        }
+        return totals;
+    }
+
+    public static Collection<Uses> count(Interview interview) {
+        Map<SchemaElement, Uses> uses = new IdentityHashMap<>();
+        for (Moment moment : interview.getRootMoment().momentsProperty())
+            count(moment, 1, interview, uses);
+        return uses.values();
+    }
+
+    private static void count(Moment moment, int depth, Interview interview, Map<SchemaElement, Uses> uses) {
+        for (ConcreteCategory concreteCategory : moment.concreteCategoriesProperty()) {
+            uses.computeIfAbsent(concreteCategory.getSchemaCategory(), e -> new Uses(interview, e, new int[depth])).add(depth);
+            for (ConcreteProperty concreteProperty : concreteCategory.propertiesProperty()) {
+                if (!concreteProperty.getValue().isEmpty())
+                    uses.computeIfAbsent(concreteProperty.getSchemaProperty(), e -> new Uses(interview, e, new int[depth])).add(depth);
+            }
+        }
+        for (Moment subMoment : moment.momentsProperty())
+            count(subMoment, depth + 1, interview, uses);
+    }
+}
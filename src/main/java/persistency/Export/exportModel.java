@@ -3,7 +3,7 @@ package persistency.Export;
 import models.*;
 
 
-import java.util.LinkedList;
+import java.util.ArrayList;
 import java.util.List;
 
 public class exportModel implements exportInterface {
@@ -19,7 +19,7 @@ public class exportModel implements exportInterface {
     public exportModel(Project project){
         this.project = project;
         this.interviews = project.interviewsProperty();
-        this.values = new LinkedList<>();
+        this.values = new ArrayList<>();
 
         setValues();
     }
@@ -48,7 +48,7 @@ public class exportModel implements exportInterface {
     }
 
     private List<String[]>getValuesOfOneMoment(String interviewName, Moment moment, String id){
-        List<String[]> valueList = new LinkedList<>();
+        List<String[]> valueList = new ArrayList<>();
         if (moment.concreteCategoriesProperty().size() == 0) {
             CSVObject csvObject = new CSVObject(interviewName, id, moment.getName(), moment.getJustification().toString());
             valueList.add(csvObject.toStringArray());
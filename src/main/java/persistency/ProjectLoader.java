@@ -1,5 +1,6 @@
 package persistency;
 
+import application.history.CommandLog;
 import models.Project;
 import org.json.JSONObject;
 import persistency.newSaveSystem.SProject;
@@ -7,29 +8,33 @@ import persistency.newSaveSystem.serialization.SerializationPool;
 import persistency.newSaveSystem.serialization.json.JSONReadPool;
 import persistency.newSaveSystem.serialization.json.JSONSerializer;
 
+import java.io.BufferedReader;
 import java.io.FileReader;
 import java.io.IOException;
 
 public class ProjectLoader {
 
     public static Project load(String path) throws IOException {
-        FileReader fileReader = new FileReader(path);
-        String fileContents = "";
-        int i ;
-        while((i =  fileReader.read())!=-1){
-            char ch = (char)i;
-            fileContents = fileContents + ch;
+        StringBuilder fileContents = new StringBuilder();
+        try (BufferedReader fileReader = new BufferedReader(new FileReader(path))) {
+            char[] buffer = new char[8192];
+            int read;
+            while ((read = fileReader.read(buffer)) != -1) {
+                fileContents.append(buffer, 0, read);
+            }
         }
-        fileReader.close();
 
-        JSONObject obj = new JSONObject(fileContents);
+        JSONObject obj = new JSONObject(fileContents.toString());
         JSONReadPool pool = new JSONReadPool();
         SerializationPool<Integer, Object> modelsPool = new SerializationPool<>();
         JSONSerializer serializer = new JSONSerializer(obj, pool, modelsPool);
 
         SProject p = new SProject(serializer);
         p.initReading();
-        return p.convertToModel();
+        Project project = p.convertToModel();
+        //the history saved with the project is only read once it is opened, see HistoryManager.restoreLater
+        project.setCommandLog(new CommandLog(path, fileContents.toString().hashCode(), modelsPool::get));
+        return project;
     }
 
 }
@@ -1,5 +1,6 @@
 package persistency;
 
+import application.history.HistoryManager;
 import models.Project;
 import org.json.JSONObject;
 import persistency.newSaveSystem.SProject;
@@ -22,9 +23,13 @@ public class ProjectSaver {
         SProject p = new SProject(serializer, project);
         p.save(serializer);
 
+        String contents = obj.toString(4);
         BufferedWriter writer = new BufferedWriter(new FileWriter(fullPath));
-        writer.append(obj.toString(4));
+        writer.append(contents);
         writer.close();
+
+        //the history references the model objects by their id in this file
+        HistoryManager.saveLog(fullPath, contents.hashCode(), model -> serializationPool.get(model).getSerializationId());
     }
 
 }
@@ -60,8 +60,10 @@ public class SInterviewText extends Serializable<InterviewText> {
 
     @Override
     protected void finalizeModelCreation(InterviewText model) {
+        ArrayList<Annotation> modelAnnotations = new ArrayList<>(this.annotations.size());
         for (SAnnotation sAnnotation : this.annotations) {
-            model.addAnnotation(sAnnotation.convertToModel());
+            modelAnnotations.add(sAnnotation.convertToModel());
         }
+        model.addAnnotations(modelAnnotations);
     }
 }
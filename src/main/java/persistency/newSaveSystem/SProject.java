@@ -16,6 +16,7 @@ public class SProject extends Serializable<Project> {
     public SSchemaTreeRoot schemaTreeRoot;
     public ArrayList<SInterview> interviews;
     public SInterview selectedInterview;
+    public SSchemaUsageStatistics usageStatistics;
 
     public SProject(ObjectSerializer serializer) {
         super(serializer);
@@ -37,6 +38,9 @@ public class SProject extends Serializable<Project> {
         if(modelReference.getSelectedInterview() != null){
             this.selectedInterview = new SInterview(serializer, modelReference.getSelectedInterview());
         }
+
+        modelReference.getUsageStatistics().update(modelReference);
+        this.usageStatistics = new SSchemaUsageStatistics(serializer, modelReference.getUsageStatistics());
     }
 
     @Override
@@ -50,6 +54,8 @@ public class SProject extends Serializable<Project> {
         schemaTreeRoot = serializer.getObject(SSchemaTreeRoot.modelName, SSchemaTreeRoot::new);
         interviews = serializer.getArray(serializer.setListSuffix(SInterview.modelName), SInterview::new);
         selectedInterview = serializer.getFacultativeObject("selectedInterview", SInterview::new);
+        //read last: it only references the schema elements and the interviews
+        usageStatistics = serializer.getFacultativeObject("usageStatistics", SSchemaUsageStatistics::new);
     }
 
     @Override
@@ -58,6 +64,7 @@ public class SProject extends Serializable<Project> {
         serializer.writeObject(SSchemaTreeRoot.modelName, schemaTreeRoot);
         serializer.writeArray(serializer.setListSuffix(SInterview.modelName), interviews);
         serializer.writeFacultativeObject("selectedInterview", selectedInterview);
+        serializer.writeFacultativeObject("usageStatistics", usageStatistics);
     }
 
     @Override
@@ -71,6 +78,9 @@ public class SProject extends Serializable<Project> {
         if(selectedInterview != null)
             p.setSelectedInterview(selectedInterview.convertToModel());
 
+        if(usageStatistics != null)
+            p.setUsageStatistics(usageStatistics.convertToModel());
+
         return p;
     }
 
@@ -0,0 +1,68 @@
+package persistency.newSaveSystem;
+
+import models.Interview;
+import models.SchemaUsageStatistics;
+import persistency.newSaveSystem.serialization.ObjectSerializer;
+import persistency.newSaveSystem.serialization.Serializable;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class SSchemaUsageStatistics extends Serializable<SchemaUsageStatistics> {
+
+    //General info
+    public static final int version = 1;
+    public static final String modelName = "schemaUsageStatistics";
+
+    public ArrayList<SSchemaUses> uses;
+
+    public SSchemaUsageStatistics(ObjectSerializer serializer) {
+        super(serializer);
+    }
+
+    public SSchemaUsageStatistics(ObjectSerializer serializer, SchemaUsageStatistics modelReference) {
+        super(serializer, modelName, version, modelReference);
+    }
+
+    @Override
+    public void init(SchemaUsageStatistics modelReference) {
+        uses = new ArrayList<>();
+        for(Interview interview : modelReference.getInterviews()) {
+            for(SchemaUsageStatistics.Uses u : modelReference.getUses(interview)) {
+                uses.add(new SSchemaUses(serializer, u));
+            }
+        }
+    }
+
+    @Override
+    protected void addStrategies() {
+
+    }
+
+    @Override
+    protected void read() {
+        uses = serializer.getArray(serializer.setListSuffix(SSchemaUses.modelName), SSchemaUses::new);
+    }
+
+    @Override
+    protected void write(ObjectSerializer serializer) {
+        serializer.writeArray(serializer.setListSuffix(SSchemaUses.modelName), uses);
+    }
+
+    @Override
+    protected SchemaUsageStatistics createModel() {
+        Map<Interview, List<SchemaUsageStatistics.Uses>> usesByInterview = new IdentityHashMap<>();
+        for(SSchemaUses u : uses) {
+            SchemaUsageStatistics.Uses model = u.convertToModel();
+            usesByInterview.computeIfAbsent(model.getInterview(), i -> new ArrayList<>()).add(model);
+        }
+
+        SchemaUsageStatistics statistics = new SchemaUsageStatistics();
+        for(Map.Entry<Interview, List<SchemaUsageStatistics.Uses>> entry : usesByInterview.entrySet()) {
+            statistics.setUses(entry.getKey(), entry.getValue());
+        }
+        return statistics;
+    }
+}
@@ -0,0 +1,70 @@
+package persistency.newSaveSystem;
+
+import models.SchemaCategory;
+import models.SchemaProperty;
+import models.SchemaUsageStatistics;
+import persistency.newSaveSystem.serialization.ObjectSerializer;
+import persistency.newSaveSystem.serialization.Serializable;
+
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+public class SSchemaUses extends Serializable<SchemaUsageStatistics.Uses> {
+
+    //General info
+    public static final int version = 1;
+    public static final String modelName = "schemaUses";
+
+    public SInterview interview;
+    public SSchemaCategory schemaCategory;
+    public SSchemaProperty schemaProperty;
+    public String usesByDepth;
+
+    public SSchemaUses(ObjectSerializer serializer) {
+        super(serializer);
+    }
+
+    public SSchemaUses(ObjectSerializer serializer, SchemaUsageStatistics.Uses modelReference) {
+        super(serializer, modelName, version, modelReference);
+    }
+
+    @Override
+    public void init(SchemaUsageStatistics.Uses modelReference) {
+        interview = new SInterview(serializer, modelReference.getInterview());
+        if(modelReference.getElement() instanceof SchemaCategory)
+            schemaCategory = new SSchemaCategory(serializer, (SchemaCategory) modelReference.getElement());
+        else
+            schemaProperty = new SSchemaProperty(serializer, (SchemaProperty) modelReference.getElement());
+        usesByDepth = Arrays.stream(modelReference.getUsesByDepth()).mapToObj(Integer::toString).collect(Collectors.joining(","));
+    }
+
+    @Override
+    protected void addStrategies() {
+
+    }
+
+    @Override
+    protected void read() {
+        interview = serializer.getObject("interview", SInterview::new);
+        schemaCategory = serializer.getFacultativeObject("schemaCategory", SSchemaCategory::new);
+        schemaProperty = serializer.getFacultativeObject("schemaProperty", SSchemaProperty::new);
+        usesByDepth = serializer.getString("usesByDepth");
+    }
+
+    @Override
+    protected void write(ObjectSerializer serializer) {
+        serializer.writeObject("interview", interview);
+        serializer.writeFacultativeObject("schemaCategory", schemaCategory);
+        serializer.writeFacultativeObject("schemaProperty", schemaProperty);
+        serializer.writeString("usesByDepth", usesByDepth);
+    }
+
+    @Override
+    protected SchemaUsageStatistics.Uses createModel() {
+        int[] uses = usesByDepth.isEmpty() ? new int[0] : Arrays.stream(usesByDepth.split(",")).mapToInt(Integer::parseInt).toArray();
+        return new SchemaUsageStatistics.Uses(
+                interview.convertToModel(),
+                schemaCategory != null ? schemaCategory.convertToModel() : schemaProperty.convertToModel(),
+                uses);
+    }
+}
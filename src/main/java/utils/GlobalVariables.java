@@ -2,7 +2,11 @@ package utils;
 
 import javafx.beans.property.SimpleObjectProperty;
 import javafx.beans.value.ObservableObjectValue;
+import components.schemaTree.Services.usageStatistics.SchemaUsageStatisticsService;
+import components.schemaTree.Services.usagesIndex.SchemaUsagesIndex;
 import models.*;
+import utils.autoSuggestion.SuggestionIndexes;
+import utils.fullTextSearch.FullTextSearch;
 
 import java.util.HashSet;
 import java.util.function.BiFunction;
@@ -15,8 +19,13 @@ public class GlobalVariables {
 
     private static final GlobalVariables globalVariables = new GlobalVariables();
 
+    private static Project project;
+    private static SchemaUsagesIndex schemaUsages;
+    private static SchemaUsageStatisticsService schemaUsageStatistics;
     private static SchemaTreeRoot root;
     private static RootMoment rootMoment;
+    private static FullTextSearch fullTextSearch;
+    private static final SuggestionIndexes suggestionIndexes = new SuggestionIndexes();
 
     private static SimpleObjectProperty<Descripteme> changedDescripteme = new SimpleObjectProperty<>();
 
@@ -34,8 +43,34 @@ public class GlobalVariables {
         return globalVariables;
     }
 
+    public void setProject(Project project) {
+        if(project == GlobalVariables.project)
+            return;
+        if(schemaUsages != null)
+            schemaUsages.unbind();
+        if(schemaUsageStatistics != null)
+            schemaUsageStatistics.unbind();
+        if(fullTextSearch != null)
+            fullTextSearch.unbind();
+        GlobalVariables.project = project;
+        schemaUsages = project == null ? null : new SchemaUsagesIndex(project);
+        schemaUsageStatistics = project == null ? null : new SchemaUsageStatisticsService(project);
+        fullTextSearch = project == null ? null : new FullTextSearch(project);
+    }
+    public static Project getProject() {
+        return project;
+    }
+    public static SchemaUsagesIndex getSchemaUsages() {
+        return schemaUsages;
+    }
+    // the uses of the schema elements per interview and per moment depth, e.g. for the statistics view
+    public static SchemaUsageStatisticsService getSchemaUsageStatistics() {
+        return schemaUsageStatistics;
+    }
+
     public void setSchemaTreeRoot(SchemaTreeRoot root) {
         this.root = root;
+        suggestionIndexes.setSchemaTreeRoot(root);
     }
     public static SchemaTreeRoot getSchemaTreeRoot() {
         return root;
@@ -43,11 +78,20 @@ public class GlobalVariables {
 
     public void setRootMoment(RootMoment rootMment) {
         this.rootMoment = rootMment;
+        suggestionIndexes.setRootMoment(rootMment);
     }
     public static RootMoment getRootMoment() {
         return rootMoment;
     }
 
+    public static FullTextSearch getFullTextSearch() {
+        return fullTextSearch;
+    }
+
+    public static SuggestionIndexes getSuggestionIndexes() {
+        return suggestionIndexes;
+    }
+
     public void setDescriptemeChanged(Descripteme descripteme) {
         changedDescripteme.set(descripteme);
     }
@@ -0,0 +1,26 @@
+package utils;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+public class OccurrenceCounter {
+    /*
+    Counts the occurrences of the elements of a watched model tree, by identity.
+    A list change listener may see an element moved in the tree added before it is removed,
+    or an undone removal add it back before the removal is seen: the element is watched
+    from its first occurrence to its last one.
+     */
+
+    private final Map<Object, Integer> occurrences = new IdentityHashMap<>();
+
+    // true when the element was not in the tree yet
+    public boolean add(Object element) {
+        return occurrences.merge(element, 1, Integer::sum) == 1;
+    }
+
+    // true when the element is no longer in the tree
+    public boolean remove(Object element) {
+        Integer count = occurrences.computeIfPresent(element, (e, c) -> c == 1 ? null : c - 1);
+        return count == null;
+    }
+}
@@ -1,16 +1,19 @@
 package utils.autoSuggestion;
 
-import components.schemaTree.Cell.SchemaTreePluggable;
-
+import javafx.animation.PauseTransition;
 import javafx.application.Platform;
 import javafx.geometry.Side;
 import javafx.scene.control.CustomMenuItem;
 import javafx.scene.control.Label;
 import javafx.scene.control.TextField;
 import javafx.scene.control.ContextMenu;
+import javafx.util.Duration;
 import utils.autoSuggestion.strategies.SuggestionStrategy;
 
 import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 
 // https://stackoverflow.com/a/40369435
@@ -18,8 +21,8 @@ import java.util.*;
 public class AutoSuggestionsTextField extends TextField {
     // Local variables
 
-    // Entries map where key are element name (String) and value are the elements (SchemaTreePluggable)
-    private Map<String, SchemaTreePluggable> suggestions;
+    // Entries map where key are element name (String) and value are the elements, the best suggestions first
+    private Map<String, Object> suggestions;
 
     // Popup GUI
     private ContextMenu entriesPopup;
@@ -30,6 +33,21 @@ public class AutoSuggestionsTextField extends TextField {
     //Flag to avoid suggestions to pop up after selected, (because of Run Later ...)
     private boolean canAppear;
 
+    // The suggestions are computed in the background once the typing pauses.
+    // Only the result of the latest text is displayed: older lookups are cancelled or ignored.
+    private static final ExecutorService suggestionsExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "suggestions");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private static final Duration debounceDelay = Duration.millis(120);
+    private PauseTransition debounce;
+    private Future<?> pendingLookup;
+    private long lookupGeneration = 0;
+
+    // the menu items are reused from one lookup to the next
+    private final List<CustomMenuItem> menuItems = new ArrayList<>();
+
     public AutoSuggestionsTextField() {
         super();
         this.entriesPopup = new ContextMenu();
@@ -74,58 +92,78 @@ public class AutoSuggestionsTextField extends TextField {
      * "Suggestion" specific listeners
      */
     private void setListener() {
+        debounce = new PauseTransition(debounceDelay);
+        debounce.setOnFinished(event -> showSuggestions());
         //Add "suggestions" by changing text
         textProperty().addListener((observable, oldValue, newValue) -> {
             if(Math.abs(newValue.length() - oldValue.length()) >= 1 && (oldValue.length() != 0 || newValue.length() == 1) && canAppear)
-                showSuggestions();
+                debounce.playFromStart();
             else
                 hide();
         });
     }
 
     private void show() {
-        Platform.runLater(()-> {
+        if(!entriesPopup.isShowing())
             entriesPopup.show(AutoSuggestionsTextField.this, Side.BOTTOM, 0, 0); //position of popup
-        });
     }
 
     private void hide() {
+        debounce.stop();
+        cancelLookup();
         entriesPopup.hide();
     }
 
+    private void cancelLookup() {
+        lookupGeneration++;
+        if(pendingLookup != null)
+            pendingLookup.cancel(false);
+        pendingLookup = null;
+    }
+
     private void showSuggestions() {
-        suggestions = suggestionStrategy.getSuggestions(getText());
-        populatePopup(suggestions);
-        show();
+        if(suggestionStrategy == null)
+            return;
+        cancelLookup();
+        long generation = lookupGeneration;
+        String text = getText();
+        SuggestionStrategy strategy = suggestionStrategy;
+        pendingLookup = suggestionsExecutor.submit(() -> {
+            Map<String, Object> result = strategy.getSuggestions(text);
+            Platform.runLater(() -> {
+                if(generation != lookupGeneration)
+                    return;
+                pendingLookup = null;
+                suggestions = result;
+                populatePopup(result);
+                show();
+            });
+        });
     }
 
     /**
-     * Populate the entry set with the given search results. Display is limited to 10 entries, for performance.
+     * Populate the entry set with the given search results. The strategy already limits them to
+     * SuggestionStrategy.maxSuggestions entries, for performance.
      *
      * @param searchResult The set of matching strings.
      */
-    private void populatePopup(Map<String, SchemaTreePluggable> searchResult) {
-        entriesPopup.getItems().clear();
-        //List of "suggestions"
-        List<CustomMenuItem> menuItems = new LinkedList<>();
-        //List size - 10 or founded suggestions count
-        int maxEntries = 50; // TODO: chose a value
-        int count = Math.min(searchResult.size(), maxEntries);
-        //Build list as set of labels
-        for (Map.Entry<String, SchemaTreePluggable> entry : searchResult.entrySet()) {
-            //label with graphic (text flow) to highlight founded subtext in suggestions
-            Label entryLabel = new Label(entry.getKey());
-            CustomMenuItem item = new CustomMenuItem(entryLabel, true);
-            menuItems.add(item);
-
-            //if any suggestion is select set it into text and close popup
-            item.setOnAction(actionEvent -> {
-                onClick(entry.getKey());
-            });
+    private void populatePopup(Map<String, Object> searchResult) {
+        int count = 0;
+        for (String name : searchResult.keySet()) {
+            if (count == menuItems.size()) {
+                //label with graphic (text flow) to highlight founded subtext in suggestions
+                Label entryLabel = new Label();
+                CustomMenuItem item = new CustomMenuItem(entryLabel, true);
+                //if any suggestion is select set it into text and close popup
+                item.setOnAction(actionEvent -> onClick(entryLabel.getText()));
+                menuItems.add(item);
+            }
+            ((Label) menuItems.get(count).getContent()).setText(name);
+            count++;
         }
 
         //"Refresh" context menu
-        entriesPopup.getItems().addAll(menuItems);
+        entriesPopup.getItems().setAll(menuItems.subList(0, count));
     }
 
     private void onClick(String result) {
@@ -135,6 +173,8 @@ public class AutoSuggestionsTextField extends TextField {
         positionCaret(result.length());
         hide();
         Object selectedElement = suggestions.get(result);
+        if(selectedElement != null)
+            suggestionStrategy.suggestionPicked(selectedElement);
     }
 
     private void onEnter() {
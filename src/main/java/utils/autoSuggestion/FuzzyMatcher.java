@@ -0,0 +1,77 @@
+package utils.autoSuggestion;
+
+import java.util.HashMap;
+import java.util.Map;
+
+public class FuzzyMatcher {
+    /*
+    Approximate search of a pattern in texts, with the bit-parallel algorithm of Myers and Hyyrö: the smallest number
+    of typos (inserted, deleted, replaced or swapped characters) for the pattern to appear somewhere in the text.
+    The pattern and the texts are expected to be folded with TextNormalizer. Patterns are at most 64 characters.
+     */
+
+    public static final int maxPatternLength = Long.SIZE;
+
+    private final int length;
+    private final long[] latinMasks = new long[256];
+    private final Map<Character, Long> otherMasks = new HashMap<>();
+
+    public FuzzyMatcher(String pattern) {
+        if(pattern.length() > maxPatternLength)
+            throw new IllegalArgumentException("The pattern is longer than " + maxPatternLength + " characters !");
+        length = pattern.length();
+        for(int i = 0; i < length; i++) {
+            char c = pattern.charAt(i);
+            if(c < latinMasks.length)
+                latinMasks[c] |= 1L << i;
+            else
+                otherMasks.merge(c, 1L << i, (a, b) -> a | b);
+        }
+    }
+
+    // The typos tolerated for a pattern: none for the first characters typed, then one, then two
+    public static int maxTypos(int patternLength) {
+        if(patternLength < 4)
+            return 0;
+        return patternLength < 8 ? 1 : 2;
+    }
+
+    // Returns the number of typos, or max + 1 when there are more than max
+    public int distance(String text, int max) {
+        if(length == 0)
+            return 0;
+        long last = 1L << (length - 1);
+        long pv = -1L;
+        long mv = 0L;
+        long previousEq = 0L;
+        long d0 = 0L;
+        int score = length;
+        int best = score;
+        for(int i = 0; i < text.length() && best > 0; i++) {
+            long eq = mask(text.charAt(i));
+            // two swapped characters count as one typo
+            long transposed = (((~d0) & eq) << 1) & previousEq;
+            d0 = (((eq & pv) + pv) ^ pv) | eq | mv | transposed;
+            long ph = mv | ~(d0 | pv);
+            long mh = pv & d0;
+            if((ph & last) != 0)
+                score++;
+            else if((mh & last) != 0)
+                score--;
+            // the pattern can start anywhere in the text: no carry in the first row
+            ph <<= 1;
+            mh <<= 1;
+            pv = mh | ~(d0 | ph);
+            mv = ph & d0;
+            previousEq = eq;
+            best = Math.min(best, score);
+        }
+        return Math.min(best, max + 1);
+    }
+
+    private long mask(char c) {
+        if(c < latinMasks.length)
+            return latinMasks[c];
+        return otherMasks.getOrDefault(c, 0L);
+    }
+}
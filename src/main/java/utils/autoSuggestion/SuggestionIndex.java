@@ -0,0 +1,205 @@
+package utils.autoSuggestion;
+
+import javafx.beans.value.ChangeListener;
+import javafx.beans.value.ObservableValue;
+import utils.fullTextSearch.TextNormalizer;
+
+import java.util.*;
+
+public class SuggestionIndex<T> {
+    /*
+    Names of elements indexed by their n-grams (of 1 to 3 characters, case and accents ignored),
+    kept up to date when an element is renamed.
+    The index is changed on the JavaFX thread and can be searched from another thread.
+    A query only checks the elements that have its rarest n-gram. The results are ranked by relevance
+    (exact name, then prefix, then beginning of a word, then anywhere, then with typos), then by recency
+    (the most recently added, renamed or picked first), and only the best ones are kept.
+    Names are only searched with typos when too few of them contain the query, by scanning all of them.
+     */
+
+    private static final int gramSize = 3;
+
+    private final Map<T, Entry<T>> entries = new IdentityHashMap<>();
+    private final Map<String, Set<Entry<T>>> grams = new HashMap<>();
+    private long clock = 0;
+
+    private static class Entry<T> {
+        final T element;
+        final ObservableValue<String> name;
+        ChangeListener<String> nameListener;
+        String displayName;
+        String folded;
+        long lastUsed;
+
+        Entry(T element, ObservableValue<String> name) {
+            this.element = element;
+            this.name = name;
+        }
+    }
+
+    public synchronized void add(T element, ObservableValue<String> name) {
+        if(entries.containsKey(element))
+            return;
+        Entry<T> entry = new Entry<>(element, name);
+        entry.nameListener = (observable, oldValue, newValue) -> {
+            synchronized (this) {
+                unindex(entry);
+                index(entry);
+            }
+        };
+        name.addListener(entry.nameListener);
+        entries.put(element, entry);
+        index(entry);
+    }
+
+    public synchronized void remove(T element) {
+        Entry<T> entry = entries.remove(element);
+        if(entry != null) {
+            entry.name.removeListener(entry.nameListener);
+            unindex(entry);
+        }
+    }
+
+    public synchronized void clear() {
+        for(Entry<T> entry : entries.values())
+            entry.name.removeListener(entry.nameListener);
+        entries.clear();
+        grams.clear();
+    }
+
+    // the element was picked in the suggestions: it comes first among the equally relevant ones
+    public synchronized void touch(T element) {
+        Entry<T> entry = entries.get(element);
+        if(entry != null)
+            entry.lastUsed = ++clock;
+    }
+
+    public synchronized int size() { return entries.size(); }
+
+    /*
+    Returns at most max elements by name, the best ones first (names are unique in the result).
+    An empty query returns the most recent elements.
+     */
+    public synchronized Map<String, T> search(String query, int max) {
+        String folded = TextNormalizer.fold(query);
+        Collection<Entry<T>> candidates = candidates(folded);
+
+        // the worst of the best results on top, to be replaced by a better one
+        PriorityQueue<Scored<T>> best = new PriorityQueue<>();
+        for(Entry<T> entry : candidates) {
+            int relevance = relevance(entry.folded, folded);
+            if(relevance >= 0)
+                keep(best, new Scored<>(entry, relevance), max);
+        }
+
+        // not enough names contain the query: the ones containing it with a few typos come after them
+        int maxTypos = FuzzyMatcher.maxTypos(folded.length());
+        if(best.size() < max && maxTypos > 0 && folded.length() <= FuzzyMatcher.maxPatternLength) {
+            FuzzyMatcher matcher = new FuzzyMatcher(folded);
+            for(Entry<T> entry : entries.values()) {
+                int typos = matcher.distance(entry.folded, maxTypos);
+                if(typos > 0 && typos <= maxTypos)
+                    keep(best, new Scored<>(entry, -typos), max);
+            }
+        }
+
+        List<Scored<T>> ranked = new ArrayList<>(best);
+        ranked.sort(Collections.reverseOrder());
+        Map<String, T> result = new LinkedHashMap<>();
+        for(Scored<T> scored : ranked)
+            result.putIfAbsent(scored.entry.displayName, scored.entry.element);
+        return result;
+    }
+
+    // the elements with exactly this name
+    public synchronized List<T> named(String name) {
+        List<T> result = new ArrayList<>();
+        for(Entry<T> entry : candidates(TextNormalizer.fold(name))) {
+            if(entry.displayName.equals(name))
+                result.add(entry.element);
+        }
+        return result;
+    }
+
+    // the entries with the rarest n-gram of the folded query, which are the only ones that may contain it
+    private Collection<Entry<T>> candidates(String folded) {
+        Collection<Entry<T>> candidates = entries.values();
+        int n = Math.min(gramSize, folded.length());
+        for(int i = 0; n > 0 && i + n <= folded.length(); i++) {
+            Set<Entry<T>> withGram = grams.get(folded.substring(i, i + n));
+            if(withGram == null)
+                return Collections.emptySet();
+            if(withGram.size() < candidates.size())
+                candidates = withGram;
+        }
+        return candidates;
+    }
+
+    private static <T> void keep(PriorityQueue<Scored<T>> best, Scored<T> scored, int max) {
+        best.add(scored);
+        if(best.size() > max)
+            best.poll();
+    }
+
+    private static class Scored<T> implements Comparable<Scored<T>> {
+        final Entry<T> entry;
+        final int relevance;
+
+        Scored(Entry<T> entry, int relevance) {
+            this.entry = entry;
+            this.relevance = relevance;
+        }
+
+        // relevance, then recency, then the shortest name
+        @Override
+        public int compareTo(Scored<T> other) {
+            if(relevance != other.relevance)
+                return Integer.compare(relevance, other.relevance);
+            if(entry.lastUsed != other.entry.lastUsed)
+                return Long.compare(entry.lastUsed, other.entry.lastUsed);
+            return Integer.compare(other.entry.folded.length(), entry.folded.length());
+        }
+    }
+
+    // from 3 (the exact name) to 0 (the query is somewhere in the name), -1 when the name does not contain it
+    private static int relevance(String name, String query) {
+        if(name.equals(query))
+            return 3;
+        if(name.startsWith(query))
+            return 2;
+        int index = name.indexOf(query);
+        if(index < 0)
+            return -1;
+        do {
+            if(!TextNormalizer.isWordCharacter(name.charAt(index - 1)))
+                return 1;
+            index = name.indexOf(query, index + 1);
+        } while(index > 0);
+        return 0;
+    }
+
+    private void index(Entry<T> entry) {
+        entry.displayName = entry.name.getValue() == null ? "" : entry.name.getValue();
+        entry.folded = TextNormalizer.fold(entry.displayName);
+        entry.lastUsed = ++clock;
+        for(String gram : gramsOf(entry.folded))
+            grams.computeIfAbsent(gram, g -> new HashSet<>()).add(entry);
+    }
+
+    private void unindex(Entry<T> entry) {
+        for(String gram : gramsOf(entry.folded)) {
+            Set<Entry<T>> withGram = grams.get(gram);
+            if(withGram != null && withGram.remove(entry) && withGram.isEmpty())
+                grams.remove(gram);
+        }
+    }
+
+    private static Set<String> gramsOf(String folded) {
+        Set<String> result = new HashSet<>();
+        for(int n = 1; n <= gramSize; n++) {
+            for(int i = 0; i + n <= folded.length(); i++)
+                result.add(folded.substring(i, i + n));
+        }
+        return result;
+    }
+}
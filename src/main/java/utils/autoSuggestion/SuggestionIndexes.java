@@ -0,0 +1,142 @@
+package utils.autoSuggestion;
+
+import javafx.collections.ListChangeListener;
+import models.*;
+import utils.OccurrenceCounter;
+
+public class SuggestionIndexes {
+    /*
+    The suggestion indexes shared by all the suggestion fields: the elements of the schema and the moments
+    of the current interview. They follow the changes of the model, instead of walking the trees on each keystroke.
+     */
+
+    private final SuggestionIndex<SchemaFolder> folders = new SuggestionIndex<>();
+    private final SuggestionIndex<SchemaCategory> categories = new SuggestionIndex<>();
+    private final SuggestionIndex<SchemaProperty> properties = new SuggestionIndex<>();
+    private final SuggestionIndex<Moment> moments = new SuggestionIndex<>();
+
+    private SchemaTreeRoot schemaTreeRoot;
+    private RootMoment rootMoment;
+
+    private final OccurrenceCounter occurrences = new OccurrenceCounter();
+
+    private final ListChangeListener<SchemaFolder> onFoldersChange = change -> {
+        while(change.next()) {
+            change.getRemoved().forEach(this::unwatchFolder);
+            change.getAddedSubList().forEach(this::watchFolder);
+        }
+    };
+    private final ListChangeListener<SchemaCategory> onCategoriesChange = change -> {
+        while(change.next()) {
+            change.getRemoved().forEach(this::unwatchCategory);
+            change.getAddedSubList().forEach(this::watchCategory);
+        }
+    };
+    private final ListChangeListener<SchemaProperty> onPropertiesChange = change -> {
+        while(change.next()) {
+            change.getRemoved().forEach(this::unwatchProperty);
+            change.getAddedSubList().forEach(this::watchProperty);
+        }
+    };
+    private final ListChangeListener<Moment> onMomentsChange = change -> {
+        while(change.next()) {
+            change.getRemoved().forEach(this::unwatchMoment);
+            change.getAddedSubList().forEach(this::watchMoment);
+        }
+    };
+
+    public SuggestionIndex<SchemaFolder> getFolders() { return folders; }
+    public SuggestionIndex<SchemaCategory> getCategories() { return categories; }
+    public SuggestionIndex<SchemaProperty> getProperties() { return properties; }
+    public SuggestionIndex<Moment> getMoments() { return moments; }
+
+    public void setSchemaTreeRoot(SchemaTreeRoot root) {
+        if(root == schemaTreeRoot)
+            return;
+        if(schemaTreeRoot != null) {
+            schemaTreeRoot.foldersProperty().forEach(this::unwatchFolder);
+            schemaTreeRoot.foldersProperty().removeListener(onFoldersChange);
+        }
+        schemaTreeRoot = root;
+        if(root != null) {
+            root.foldersProperty().forEach(this::watchFolder);
+            root.foldersProperty().addListener(onFoldersChange);
+        }
+    }
+
+    public void setRootMoment(RootMoment root) {
+        if(root == rootMoment)
+            return;
+        if(rootMoment != null) {
+            rootMoment.momentsProperty().forEach(this::unwatchMoment);
+            rootMoment.momentsProperty().removeListener(onMomentsChange);
+        }
+        rootMoment = root;
+        if(root != null) {
+            root.momentsProperty().forEach(this::watchMoment);
+            root.momentsProperty().addListener(onMomentsChange);
+        }
+    }
+
+    private void watchFolder(SchemaFolder folder) {
+        if(!occurrences.add(folder))
+            return;
+        folders.add(folder, folder.nameProperty());
+        folder.foldersProperty().forEach(this::watchFolder);
+        folder.categoriesProperty().forEach(this::watchCategory);
+        folder.foldersProperty().addListener(onFoldersChange);
+        folder.categoriesProperty().addListener(onCategoriesChange);
+    }
+
+    private void unwatchFolder(SchemaFolder folder) {
+        if(!occurrences.remove(folder))
+            return;
+        folders.remove(folder);
+        folder.foldersProperty().removeListener(onFoldersChange);
+        folder.categoriesProperty().removeListener(onCategoriesChange);
+        folder.foldersProperty().forEach(this::unwatchFolder);
+        folder.categoriesProperty().forEach(this::unwatchCategory);
+    }
+
+    private void watchCategory(SchemaCategory category) {
+        if(!occurrences.add(category))
+            return;
+        categories.add(category, category.nameProperty());
+        category.propertiesProperty().forEach(this::watchProperty);
+        category.propertiesProperty().addListener(onPropertiesChange);
+    }
+
+    private void unwatchCategory(SchemaCategory category) {
+        if(!occurrences.remove(category))
+            return;
+        categories.remove(category);
+        category.propertiesProperty().removeListener(onPropertiesChange);
+        category.propertiesProperty().forEach(this::unwatchProperty);
+    }
+
+    private void watchProperty(SchemaProperty property) {
+        if(occurrences.add(property))
+            properties.add(property, property.nameProperty());
+    }
+
+    private void unwatchProperty(SchemaProperty property) {
+        if(occurrences.remove(property))
+            properties.remove(property);
+    }
+
+    private void watchMoment(Moment moment) {
+        if(!occurrences.add(moment))
+            return;
+        moments.add(moment, moment.nameProperty());
+        moment.momentsProperty().forEach(this::watchMoment);
+        moment.momentsProperty().addListener(onMomentsChange);
+    }
+
+    private void unwatchMoment(Moment moment) {
+        if(!occurrences.remove(moment))
+            return;
+        moments.remove(moment);
+        moment.momentsProperty().removeListener(onMomentsChange);
+        moment.momentsProperty().forEach(this::unwatchMoment);
+    }
+}
@@ -1,31 +1,26 @@
 package utils.autoSuggestion.strategies;
 
+import utils.autoSuggestion.SuggestionIndex;
+
 import java.util.HashMap;
 import java.util.Map;
 
 public abstract class SuggestionStrategy<T> {
 
-    public abstract Map<String, T> fetchSuggestions();
+    // no more suggestions are computed than what can be displayed
+    public static final int maxSuggestions = 50;
 
-    Map<String, T> filter(Map<String, T> entries, String enteredText) {
-        Map<String, T> filteredResult = new HashMap<>();
-        if (!enteredText.equals("")) {
-            for (Map.Entry<String, T> entry : entries.entrySet()) {
-                if (entry.getKey().toLowerCase().contains(enteredText.toLowerCase())) {
-                    filteredResult.put(entry.getKey(), entry.getValue());
-                }
-            }
-        }
-        return filteredResult;
-    }
+    protected abstract SuggestionIndex<T> getIndex();
 
+    // the best suggestions first
     public Map<String, T> getSuggestions(String enteredText) {
-        if(enteredText.equals(" "))
-            return fetchSuggestions();
-        else
-            return filter(
-                    fetchSuggestions(),
-                    enteredText
-            );
+        if(enteredText.equals(""))
+            return new HashMap<>();
+        // a single space lists every element, the most recent first
+        return getIndex().search(enteredText.equals(" ") ? "" : enteredText, maxSuggestions);
+    }
+
+    public void suggestionPicked(T element) {
+        getIndex().touch(element);
     }
 }
@@ -2,17 +2,20 @@ package utils.autoSuggestion.strategies;
 
 // This is just to test and debug the suggestion strategy design pattern
 
+import javafx.beans.property.SimpleStringProperty;
 import utils.autoSuggestion.FakeSuggestion;
-
-import java.util.HashMap;
-import java.util.Map;
+import utils.autoSuggestion.SuggestionIndex;
 
 public class SuggestionStrategyNoSense extends SuggestionStrategy<FakeSuggestion> {
-    public Map<String, FakeSuggestion> fetchSuggestions() {
-        Map<String, FakeSuggestion> result = new HashMap<>();
-        result.put("NoSens 1", new FakeSuggestion("NoSens 1"));
-        result.put("NoSens 2", new FakeSuggestion("NoSens 2"));
-        result.put("NoSens 3", new FakeSuggestion("NoSens 3"));
-        return result;
+    private final SuggestionIndex<FakeSuggestion> index = new SuggestionIndex<>();
+
+    public SuggestionStrategyNoSense() {
+        for(String name : new String[] { "NoSens 1", "NoSens 2", "NoSens 3" })
+            index.add(new FakeSuggestion(name), new SimpleStringProperty(name));
+    }
+
+    @Override
+    protected SuggestionIndex<FakeSuggestion> getIndex() {
+        return index;
     }
 }
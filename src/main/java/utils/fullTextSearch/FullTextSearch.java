@@ -0,0 +1,98 @@
+package utils.fullTextSearch;
+
+import javafx.collections.ListChangeListener;
+import models.Interview;
+import models.Project;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+
+public class FullTextSearch {
+    /*
+    Search through the texts of all the interviews of a project.
+    Nothing is indexed until the first search, which indexes the interviews it goes through:
+    opening a project that is never searched costs nothing. After that, the interviews added
+    to the project are indexed in the background.
+     */
+
+    private final Project project;
+    private final Map<Interview, Future<InterviewTextIndex>> indexes = new ConcurrentHashMap<>();
+    private boolean searched = false;
+    private final ExecutorService indexer = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "full-text-indexer");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MIN_PRIORITY);
+        return thread;
+    });
+
+    private final ListChangeListener<Interview> onInterviewsChange = change -> {
+        while (change.next()) {
+            for (Interview removed : change.getRemoved()) {
+                Future<InterviewTextIndex> index = indexes.remove(removed);
+                if (index != null) {
+                    index.cancel(false);
+                }
+            }
+            if (searched) {
+                for (Interview added : change.getAddedSubList()) {
+                    index(added);
+                }
+            }
+        }
+    };
+
+    public FullTextSearch(Project project) {
+        this.project = project;
+        project.interviewsProperty().addListener(onInterviewsChange);
+    }
+
+    private void index(Interview interview) {
+        indexes.computeIfAbsent(interview, i -> indexer.submit(() -> new InterviewTextIndex(i.getInterviewText())));
+    }
+
+    /*
+    Returns every occurrence of the query in the interviews, in the order of the interviews of the project.
+    Case and accents are ignored, the last word of the query is matched as a prefix.
+    Interviews that are not indexed yet are indexed before answering.
+     */
+    public List<SearchHit> search(String query) {
+        searched = true;
+        List<SearchHit> hits = new ArrayList<>();
+        List<String> words = InterviewTextIndex.tokenize(query);
+        if (words.isEmpty()) {
+            return hits;
+        }
+        for (Interview interview : project.interviewsProperty()) {
+            InterviewTextIndex index = getIndex(interview);
+            for (int[] range : index.search(words)) {
+                hits.add(new SearchHit(interview, range[0], range[1]));
+            }
+        }
+        return hits;
+    }
+
+    private InterviewTextIndex getIndex(Interview interview) {
+        Future<InterviewTextIndex> future = indexes.get(interview);
+        if (future != null && !future.isCancelled()) {
+            try {
+                return future.get();
+            } catch (InterruptedException e) {
+                // the caller keeps its interrupted status, the index is built below
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException e) {
+                e.printStackTrace();
+            }
+        }
+        // not submitted yet, failed or interrupted: build it on the caller thread
+        InterviewTextIndex index = new InterviewTextIndex(interview.getInterviewText());
+        indexes.put(interview, CompletableFuture.completedFuture(index));
+        return index;
+    }
+
+    public void unbind() {
+        project.interviewsProperty().removeListener(onInterviewsChange);
+        indexer.shutdownNow();
+    }
+}
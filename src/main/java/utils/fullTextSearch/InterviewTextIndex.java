@@ -0,0 +1,154 @@
+package utils.fullTextSearch;
+
+import models.InterviewText;
+
+import java.util.*;
+
+public class InterviewTextIndex {
+    /*
+    Inverted index of a single interview text.
+    Interview texts are immutable, so the index is built once and never updated.
+     */
+
+    private final InterviewText interviewText;
+
+    // the n-th word of the text: its term, its start and end index in the text
+    private final int[] wordTerms;
+    private final int[] wordStarts;
+    private final int[] wordEnds;
+
+    // term -> term id, sorted to answer prefix queries
+    private final TreeMap<String, Integer> terms = new TreeMap<>();
+    // term id -> positions (in words) of its occurrences
+    private final int[][] postings;
+
+    public InterviewTextIndex(InterviewText interviewText) {
+        this.interviewText = interviewText;
+
+        String text = interviewText.getText();
+        int[] termsBuffer = new int[Math.max(16, text.length() / 6)];
+        int[] startsBuffer = new int[termsBuffer.length];
+        int[] endsBuffer = new int[termsBuffer.length];
+        List<Integer> termCounts = new ArrayList<>();
+        StringBuilder word = new StringBuilder();
+
+        int count = 0;
+        int i = 0;
+        while (i < text.length()) {
+            if (!TextNormalizer.isWordCharacter(text.charAt(i))) {
+                i++;
+                continue;
+            }
+            int start = i;
+            word.setLength(0);
+            while (i < text.length() && TextNormalizer.isWordCharacter(text.charAt(i))) {
+                word.append(TextNormalizer.fold(text.charAt(i)));
+                i++;
+            }
+
+            Integer termId = terms.get(word.toString());
+            if (termId == null) {
+                termId = terms.size();
+                terms.put(word.toString(), termId);
+                termCounts.add(0);
+            }
+            termCounts.set(termId, termCounts.get(termId) + 1);
+
+            if (count == termsBuffer.length) {
+                termsBuffer = Arrays.copyOf(termsBuffer, count * 2);
+                startsBuffer = Arrays.copyOf(startsBuffer, count * 2);
+                endsBuffer = Arrays.copyOf(endsBuffer, count * 2);
+            }
+            termsBuffer[count] = termId;
+            startsBuffer[count] = start;
+            endsBuffer[count] = i;
+            count++;
+        }
+        wordTerms = Arrays.copyOf(termsBuffer, count);
+        wordStarts = Arrays.copyOf(startsBuffer, count);
+        wordEnds = Arrays.copyOf(endsBuffer, count);
+
+        postings = new int[terms.size()][];
+        int[] filled = new int[terms.size()];
+        for (int termId = 0; termId < postings.length; termId++) {
+            postings[termId] = new int[termCounts.get(termId)];
+        }
+        for (int position = 0; position < count; position++) {
+            int termId = wordTerms[position];
+            postings[termId][filled[termId]++] = position;
+        }
+    }
+
+    public InterviewText getInterviewText() { return interviewText; }
+
+    /*
+    Find the occurrences of the sequence of (already folded) words.
+    The last word is matched as a prefix so that results are available while typing.
+    Returns the [start, end] index pairs in the text, sorted.
+     */
+    public List<int[]> search(List<String> words) {
+        List<int[]> result = new ArrayList<>();
+        if (words.isEmpty()) {
+            return result;
+        }
+
+        int[] exactTerms = new int[words.size() - 1];
+        for (int k = 0; k < exactTerms.length; k++) {
+            Integer termId = terms.get(words.get(k));
+            if (termId == null) {
+                return result;
+            }
+            exactTerms[k] = termId;
+        }
+        String prefix = words.get(words.size() - 1);
+        Collection<Integer> lastTerms = terms.subMap(prefix, true, prefix + Character.MAX_VALUE, false).values();
+        if (lastTerms.isEmpty()) {
+            return result;
+        }
+        int last = words.size() - 1;
+
+        if (exactTerms.length == 0) {
+            List<Integer> positions = new ArrayList<>();
+            for (int termId : lastTerms) {
+                for (int position : postings[termId]) {
+                    positions.add(position);
+                }
+            }
+            Collections.sort(positions);
+            for (int position : positions) {
+                result.add(new int[] { wordStarts[position], wordEnds[position] });
+            }
+            return result;
+        }
+
+        Set<Integer> lastTermsSet = new HashSet<>(lastTerms);
+        for (int position : postings[exactTerms[0]]) {
+            if (position + last >= wordTerms.length) {
+                break;
+            }
+            boolean matches = true;
+            for (int k = 1; k < exactTerms.length && matches; k++) {
+                matches = wordTerms[position + k] == exactTerms[k];
+            }
+            if (matches && lastTermsSet.contains(wordTerms[position + last])) {
+                result.add(new int[] { wordStarts[position], wordEnds[position + last] });
+            }
+        }
+        return result;
+    }
+
+    public static List<String> tokenize(String query) {
+        List<String> words = new ArrayList<>();
+        StringBuilder word = new StringBuilder();
+        for (int i = 0; i <= query.length(); i++) {
+            if (i < query.length() && TextNormalizer.isWordCharacter(query.charAt(i))) {
+                word.append(TextNormalizer.fold(query.charAt(i)));
+            }
+            else if (word.length() > 0) {
+                words.add(word.toString());
+                word.setLength(0);
+            }
+        }
+        return words;
+    }
+}
@@ -0,0 +1,35 @@
+package utils.fullTextSearch;
+
+import javafx.scene.input.DataFormat;
+import javafx.scene.paint.Color;
+import models.Annotation;
+import models.Descripteme;
+import models.Fragment;
+import models.Interview;
+
+public class SearchHit extends Fragment {
+    private static final long serialVersionUID = 1L;
+    public static final DataFormat format = new DataFormat("SearchHit");
+
+    private final Interview interview;
+
+    public SearchHit(Interview interview, int startIndex, int endIndex) {
+        super(interview.getInterviewText(), startIndex, endIndex);
+        this.interview = interview;
+    }
+
+    public Interview getInterview() { return interview; }
+
+    public Annotation toAnnotation(Color color) {
+        return new Annotation(this, color);
+    }
+
+    public Descripteme toDescripteme() {
+        return new Descripteme(interviewText, startIndex.get(), endIndex.get());
+    }
+
+    @Override
+    public DataFormat getDataFormat() {
+        return format;
+    }
+}
@@ -0,0 +1,50 @@
+package utils.fullTextSearch;
+
+import java.text.Normalizer;
+
+public class TextNormalizer {
+    /*
+    Folds a text for searching: lower case, without accents (é -> e, Ç -> c...).
+    Each character is folded to exactly one character, so positions in the folded text
+    are the same as in the original text.
+     */
+
+    private static final char[] LATIN_FOLDING = new char[0x2500];
+
+    static {
+        for (char c = 0; c < LATIN_FOLDING.length; c++) {
+            LATIN_FOLDING[c] = computeFolding(c);
+        }
+    }
+
+    private TextNormalizer() {}
+
+    public static char fold(char c) {
+        return c < LATIN_FOLDING.length ? LATIN_FOLDING[c] : Character.toLowerCase(c);
+    }
+
+    public static String fold(CharSequence text) {
+        char[] folded = new char[text.length()];
+        for (int i = 0; i < folded.length; i++) {
+            folded[i] = fold(text.charAt(i));
+        }
+        return new String(folded);
+    }
+
+    public static boolean isWordCharacter(char c) {
+        return Character.isLetterOrDigit(c);
+    }
+
+    private static char computeFolding(char c) {
+        if (Character.isSurrogate(c)) {
+            return c;
+        }
+        String decomposed = Normalizer.normalize(String.valueOf(c), Normalizer.Form.NFD);
+        char base = decomposed.isEmpty() ? c : decomposed.charAt(0);
+        // keep the character if the decomposition does not start with a letter (e.g. symbols)
+        if (!Character.isLetterOrDigit(base)) {
+            base = c;
+        }
+        return Character.toLowerCase(base);
+    }
+}
@@ -5,8 +5,9 @@ import javafx.collections.ObservableList;
 import javafx.scene.Node;
 import javafx.scene.layout.Pane;
 import utils.modelControllers.IModelController;
+import utils.scrollOnDragPane.ViewportLoader;
 
-import java.util.LinkedList;
+import java.util.*;
 import java.util.function.Consumer;
 import java.util.function.Function;
 
@@ -17,33 +18,77 @@ public class ListView<Model, Controller extends IModelController<Model, Node, Li
     private Function<Controller, Node> nodeFactory;
     private ObservableList<Model> models;
 
-    private LinkedList<Controller> indexControllerMap;
+    // the controllers, in the same order as the models and the nodes
+    private ArrayList<Controller> indexControllerMap;
+    private IdentityHashMap<Model, Controller> modelControllerMap;
+    // the index of each controller, renumbered from the first changed index when the changes end
+    private final Map<Controller, Integer> controllerIndexMap = new IdentityHashMap<>();
     private static Integer noChildFound = -1;
+
+    // Siblings are only notified when their ListViewUpdate changes: when their index changes
+    // or when they become (or are no longer) the last element
+    private int firstChangedIndex;
+    private int lastIndexBefore;
+    private Controller lastControllerBefore;
+    private final List<Controller> toMount = new ArrayList<>();
+
+    // Lazy mode: the elements already in the list are displayed as placeholders,
+    // their node is created when they get close to the viewport
+    private ViewportLoader viewportLoader;
+    private Function<Model, Node> placeholderFactory;
+    private final Map<Controller, Node> placeholders = new IdentityHashMap<>();
+
     private Consumer<ListChangeListener.Change<? extends Model>> onListUpdate;
     private ListChangeListener<Model> childChangeListener = change -> {
+        // all the sub-changes are applied before notifying the children once
+        startChanges();
         while(change.next()) {
-            for (Model rem : change.getRemoved()) {
-                remove(rem);
+            if(change.wasPermutated()) {
+                permute(change);
             }
-            for (Model added : change.getAddedSubList()) {
-                add(change.getTo()-1, added);
+            else {
+                if(change.wasRemoved())
+                    removeRange(change.getFrom(), change.getRemovedSize());
+                int index = change.getFrom();
+                for (Model added : change.getAddedSubList()) {
+                    insert(index++, added);
+                }
             }
             if(onListUpdate != null)
                 onListUpdate.accept(change);
         }
+        endChanges();
     };
 
 
     public ListView(ObservableList<Model> models, Function<Model, Controller> controllerFactory, Function<Controller, Node> nodeFactory, Pane parentController) {
+        this(models, controllerFactory, nodeFactory, parentController, null, null);
+    }
+
+    /*
+    Elements added to the list afterwards are created and mounted right away (e.g. to be scrolled to),
+    placeholders are mounted without onMount: they are not new elements.
+     */
+    public ListView(ObservableList<Model> models, Function<Model, Controller> controllerFactory, Function<Controller, Node> nodeFactory, Pane parentController,
+                    ViewportLoader viewportLoader, Function<Model, Node> placeholderFactory) {
+        this.viewportLoader = viewportLoader;
+        this.placeholderFactory = placeholderFactory;
         this.parentController = parentController;
-        this.indexControllerMap = new LinkedList<>();
+        this.indexControllerMap = new ArrayList<>(models.size());
+        this.modelControllerMap = new IdentityHashMap<>();
         this.controllerFactory = controllerFactory;
         this.nodeFactory = nodeFactory;
 
 
         this.models = models;
-        for(Model m: this.models)
-            add(m);
+        startChanges();
+        for(Model m: this.models) {
+            if(viewportLoader != null)
+                addPlaceholder(m);
+            else
+                insert(indexControllerMap.size(), m);
+        }
+        endChanges();
         this.models.addListener(childChangeListener);
     }
 
@@ -52,72 +97,135 @@ public class ListView<Model, Controller extends IModelController<Model, Node, Li
     }
 
     public void add(int index, Model m) {
-        if(containsChild(m) == noChildFound){
-            Controller newController = controllerFactory.apply(m);
-            Node newNode = nodeFactory.apply(newController);
-
-            getChildren().add(index, newNode);
-            indexControllerMap.add(index, newController);
-
-            notifyChildren();
-            newController.onMount();
-            //Platform.runLater(newController::onMount);
-        }
-        else {
-            throw new IllegalArgumentException("This model element already exists in HBox !");
-        }
+        startChanges();
+        insert(index, m);
+        endChanges();
     }
 
     public void add(Model m) {
-        if(containsChild(m) == noChildFound){
-            Controller newController = controllerFactory.apply(m);
-            Node newNode = nodeFactory.apply(newController);
-
-            getChildren().add(newNode);
-            int lastChildIndex = getChildren().size() - 1;
-            indexControllerMap.add(lastChildIndex, newController);
-
-            notifyChildren();
-            newController.onMount();
-            //Platform.runLater(newController::onMount);
-        }
-        else {
-            throw new IllegalArgumentException("This model element already exists in HBox !");
-        }
+        add(indexControllerMap.size(), m);
     }
 
     public void remove(Model m) {
         int childIndex = containsChild(m);
         if(childIndex != noChildFound){
-            Controller c = getControllerFromIndex(childIndex);
-            c.onUnmount();
-            indexControllerMap.remove(childIndex);
-            getChildren().remove(childIndex);
-            notifyChildren();
+            startChanges();
+            removeRange(childIndex, 1);
+            endChanges();
         }
         else {
             throw new IllegalArgumentException("This model element is not contained in the HBox !");
         }
     }
 
+    private void startChanges() {
+        firstChangedIndex = Integer.MAX_VALUE;
+        lastIndexBefore = indexControllerMap.size() - 1;
+        lastControllerBefore = lastIndexBefore >= 0 ? indexControllerMap.get(lastIndexBefore) : null;
+    }
+
+    private void endChanges() {
+        int childrenCount = indexControllerMap.size();
+        for(int i = firstChangedIndex; i < childrenCount; i++) {
+            controllerIndexMap.put(getControllerFromIndex(i), i);
+            notifyChild(i, childrenCount);
+        }
+        // the elements before the changes keep their index, but one of them may have become the last one...
+        if(childrenCount - 1 < firstChangedIndex && childrenCount > 0)
+            notifyChild(childrenCount - 1, childrenCount);
+        // ... and the previous last one may be followed by new elements
+        if(lastIndexBefore < firstChangedIndex && lastIndexBefore != childrenCount - 1
+                && lastControllerBefore != null && modelControllerMap.containsKey(lastControllerBefore.getModel()))
+            notifyChild(lastIndexBefore, childrenCount);
+
+        for(Controller c : toMount)
+            c.onMount();
+        toMount.clear();
+    }
+
+    private void notifyChild(int i, int childrenCount) {
+        Controller c = getControllerFromIndex(i);
+        // a placeholder gets its update when it is replaced
+        if(!placeholders.containsKey(c))
+            c.onUpdate(new ListViewUpdate(i, childrenCount));
+    }
+
+    private void insert(int index, Model m) {
+        if(modelControllerMap.containsKey(m))
+            throw new IllegalArgumentException("This model element already exists in HBox !");
+
+        Controller newController = controllerFactory.apply(m);
+        Node newNode = nodeFactory.apply(newController);
+
+        getChildren().add(index, newNode);
+        indexControllerMap.add(index, newController);
+        modelControllerMap.put(m, newController);
+        firstChangedIndex = Math.min(firstChangedIndex, index);
+        toMount.add(newController);
+    }
 
-    private void notifyChildren() {
-        int childrenCount =  getChildren().size();
-        for(int i = 0; i < childrenCount; i++) {
-            getControllerFromIndex(i).onUpdate(new ListViewUpdate(i, childrenCount));
+    private void addPlaceholder(Model m) {
+        if(modelControllerMap.containsKey(m))
+            throw new IllegalArgumentException("This model element already exists in HBox !");
+
+        Controller newController = controllerFactory.apply(m);
+        Node placeholder = placeholderFactory.apply(m);
+
+        getChildren().add(placeholder);
+        controllerIndexMap.put(newController, indexControllerMap.size());
+        indexControllerMap.add(newController);
+        modelControllerMap.put(m, newController);
+        placeholders.put(newController, placeholder);
+        viewportLoader.loadWhenVisible(placeholder, () -> replacePlaceholder(newController));
+    }
+
+    private void replacePlaceholder(Controller controller) {
+        Node placeholder = placeholders.remove(controller);
+        Integer childIndex = controllerIndexMap.get(controller);
+        if(placeholder == null || childIndex == null)
+            return;
+        getChildren().set(childIndex, nodeFactory.apply(controller));
+        controller.onUpdate(new ListViewUpdate(childIndex, getChildren().size()));
+    }
+
+    private void removeRange(int from, int count) {
+        for(int i = from; i < from + count; i++) {
+            Controller c = getControllerFromIndex(i);
+            Node placeholder = placeholders.remove(c);
+            if(placeholder != null)
+                viewportLoader.cancel(placeholder);
+            else
+                c.onUnmount();
+            modelControllerMap.remove(c.getModel());
+            controllerIndexMap.remove(c);
+            toMount.remove(c);
         }
+        indexControllerMap.subList(from, from + count).clear();
+        getChildren().remove(from, from + count);
+        firstChangedIndex = Math.min(firstChangedIndex, from);
     }
 
-    private int containsChild(Model m) {
-        for(int i = 0; i < getChildren().size(); i++) {
-            if(getModelFromIndex(i) == m)
-                return i;
+    private void permute(ListChangeListener.Change<? extends Model> change) {
+        int from = change.getFrom();
+        int to = change.getTo();
+        List<Controller> controllers = new ArrayList<>(indexControllerMap.subList(from, to));
+        List<Node> nodes = new ArrayList<>(getChildren().subList(from, to));
+        Controller[] permutedControllers = (Controller[]) new IModelController[to - from];
+        Node[] permutedNodes = new Node[to - from];
+        for(int i = from; i < to; i++) {
+            permutedControllers[change.getPermutation(i) - from] = controllers.get(i - from);
+            permutedNodes[change.getPermutation(i) - from] = nodes.get(i - from);
         }
-        return -1;
+        for(int i = from; i < to; i++)
+            indexControllerMap.set(i, permutedControllers[i - from]);
+        getChildren().remove(from, to);
+        getChildren().addAll(from, Arrays.asList(permutedNodes));
+        firstChangedIndex = Math.min(firstChangedIndex, from);
     }
 
-    private Model getModelFromIndex(int i) {
-        return getControllerFromIndex(i).getModel();
+    private int containsChild(Model m) {
+        Controller c = modelControllerMap.get(m);
+        return c == null ? noChildFound : controllerIndexMap.get(c);
     }
 
     public Controller getControllerFromIndex(int i) {
@@ -126,8 +234,13 @@ public class ListView<Model, Controller extends IModelController<Model, Node, Li
 
     public void onUnmount() {
         this.models.removeListener(childChangeListener);
-        for(int i = 0; i < getChildren().size(); i++) {
-            getControllerFromIndex(i).onUnmount();
+        for(int i = 0; i < indexControllerMap.size(); i++) {
+            Controller c = getControllerFromIndex(i);
+            Node placeholder = placeholders.remove(c);
+            if(placeholder != null)
+                viewportLoader.cancel(placeholder);
+            else
+                c.onUnmount();
         }
     }
 
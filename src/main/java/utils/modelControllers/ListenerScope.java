@@ -0,0 +1,53 @@
+package utils.modelControllers;
+
+import javafx.beans.InvalidationListener;
+import javafx.beans.Observable;
+import javafx.beans.property.Property;
+import javafx.beans.value.ChangeListener;
+import javafx.beans.value.ObservableValue;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+ * Listeners and bindings of a controller on its model, all removed at once by release().
+ * A controller releases its scope in onUnmount, so that the model, which outlives it
+ * (e.g. when another interview is selected), doesn't keep it and its nodes alive.
+ */
+public class ListenerScope {
+
+    private final List<Runnable> releasers = new ArrayList<>();
+
+    public <T> void addListener(ObservableValue<T> observable, ChangeListener<? super T> listener) {
+        observable.addListener(listener);
+        releasers.add(() -> observable.removeListener(listener));
+    }
+
+    public void addInvalidationListener(Observable observable, InvalidationListener listener) {
+        observable.addListener(listener);
+        releasers.add(() -> observable.removeListener(listener));
+    }
+
+    public <T> void addListChangeListener(ObservableList<T> list, ListChangeListener<? super T> listener) {
+        list.addListener(listener);
+        releasers.add(() -> list.removeListener(listener));
+    }
+
+    public <T> void bind(Property<T> property, ObservableValue<? extends T> observable) {
+        property.bind(observable);
+        releasers.add(property::unbind);
+    }
+
+    // called on release, e.g. to unmount a nested ListView
+    public void onRelease(Runnable releaser) {
+        releasers.add(releaser);
+    }
+
+    public void release() {
+        for (int i = releasers.size() - 1; i >= 0; i--)
+            releasers.get(i).run();
+        releasers.clear();
+    }
+}
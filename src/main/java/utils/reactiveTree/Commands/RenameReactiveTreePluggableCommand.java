@@ -1,10 +1,13 @@
 package utils.reactiveTree.Commands;
 
+import application.history.CommandLogEntry;
 import application.history.ModelUserActionCommand;
 import utils.reactiveTree.ReactiveTreePluggable;
 
 public class RenameReactiveTreePluggableCommand extends ModelUserActionCommand<Void, Void> {
 
+    public static final String logType = "renameSchemaElement";
+
     private ReactiveTreePluggable element;
     private String temp;
 
@@ -13,6 +16,11 @@ public class RenameReactiveTreePluggableCommand extends ModelUserActionCommand<V
         this.temp = newName;
     }
 
+    public RenameReactiveTreePluggableCommand(CommandLogEntry entry) {
+        this.element = entry.getReference("element", ReactiveTreePluggable.class);
+        this.temp = entry.getString("name");
+    }
+
     @Override
     public Void execute() {
         String t = element.nameProperty().get();
@@ -29,4 +37,20 @@ public class RenameReactiveTreePluggableCommand extends ModelUserActionCommand<V
         return null;
     }
 
+    @Override
+    protected boolean absorb(ModelUserActionCommand next) {
+        // temp already holds the name before the first rename
+        return next instanceof RenameReactiveTreePluggableCommand && ((RenameReactiveTreePluggableCommand) next).element == element;
+    }
+
+    @Override
+    protected String getLogType() { return logType; }
+
+    @Override
+    protected void writeLog(CommandLogEntry entry) {
+        // the name the element gets back when the command is undone (or redone)
+        entry.writeReference("element", element);
+        entry.writeString("name", temp);
+    }
+
 }
@@ -5,21 +5,41 @@ import javafx.collections.ListChangeListener;
 import javafx.collections.ObservableList;
 import javafx.collections.WeakListChangeListener;
 import javafx.scene.control.TreeItem;
-import java.util.concurrent.atomic.AtomicReference;
 
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/*
+ * The children tree items are created when the container is expanded for the first time:
+ * a collapsed folder of a large schema costs a single tree item.
+ * The children stay in the same order as the bound collection.
+ */
 public abstract class ReactiveTreeContainer<T extends ReactiveTreePluggable> extends ReactiveTreeElement<T> {
 
     private SimpleBooleanProperty expanded;
-    private ListChangeListener<T> onChildChangeListener = change -> {
+    private ObservableList<? extends T> children;
+    private boolean populated = false;
+    private final Map<T, TreeItem<T>> childrenItems = new IdentityHashMap<>();
 
+    private ListChangeListener<T> onChildChangeListener = change -> {
+        if(!populated) {
+            // the items are created from the collection on the first expand,
+            // unless the disclosure arrow has to appear or disappear
+            if(change.getList().size() <= 1)
+                populate();
+            return;
+        }
         while (change.next()) {
-            for (T removed : change.getRemoved()) {
-                removeChildren(removed);
-            }
-            for (T added : change.getAddedSubList()) {
-                addChildrenAt(added, change.getList().indexOf(added));
-                //addChildren(added);
+            if(change.wasPermutated()) {
+                reorderChildren();
+                continue;
             }
+            if(change.wasRemoved())
+                removeChildren(change.getFrom(), change.getRemoved());
+            if(change.wasAdded())
+                addChildrenAt(change.getAddedSubList(), change.getFrom());
         }
     };
 
@@ -27,31 +47,62 @@ public abstract class ReactiveTreeContainer<T extends ReactiveTreePluggable> ext
         super(item);
         expanded = new SimpleBooleanProperty(true);
         this.expandedProperty().bindBidirectional(expanded);
+        expandedProperty().addListener((observable, oldValue, newValue) -> {
+            if(newValue)
+                populate();
+        });
     }
 
     public void bindChildrenCollection(ObservableList<? extends T> children) {
-        children.forEach(this::addChildren);
+        this.children = children;
         children.addListener(new WeakListChangeListener<>(onChildChangeListener));
+        if(isExpanded() || children.isEmpty())
+            populate();
     }
 
-    private void addChildren(T item) {
-        getChildren().add(createTreeItem(item));
+    @Override
+    public boolean isLeaf() {
+        return populated ? super.isLeaf() : children == null || children.isEmpty();
     }
-    private void addChildrenAt(T item, int index) {
-        getChildren().add(index, createTreeItem(item));
+
+    // the tree item of a child, created if the container has not been expanded yet
+    public TreeItem<T> getChildItem(T item) {
+        populate();
+        return childrenItems.get(item);
     }
 
     abstract protected ReactiveTreeElement<T> createTreeItem(T item);
 
-    private void removeChildren(T item) {
-        AtomicReference<TreeItem<T>> foundItem = new AtomicReference<TreeItem<T>>();
-        getChildren().forEach(child -> {
-            if(child.getValue() == item)
-                foundItem.set(child);
-        });
-        if(foundItem.get() == null)
-            throw new IllegalArgumentException("Trying to remove unexisting element from the container !");
-        getChildren().remove(foundItem.get());
+    private void populate() {
+        if(populated || children == null)
+            return;
+        populated = true;
+        addChildrenAt(children, 0);
+    }
+
+    private void addChildrenAt(List<? extends T> items, int index) {
+        List<TreeItem<T>> created = new ArrayList<>(items.size());
+        for(T item : items) {
+            TreeItem<T> treeItem = createTreeItem(item);
+            childrenItems.put(item, treeItem);
+            created.add(treeItem);
+        }
+        getChildren().addAll(index, created);
+    }
+
+    private void removeChildren(int index, List<? extends T> items) {
+        for(T item : items) {
+            if(childrenItems.remove(item) == null)
+                throw new IllegalArgumentException("Trying to remove unexisting element from the container !");
+        }
+        getChildren().remove(index, index + items.size());
+    }
+
+    private void reorderChildren() {
+        List<TreeItem<T>> ordered = new ArrayList<>(children.size());
+        for(T item : children)
+            ordered.add(childrenItems.get(item));
+        getChildren().setAll(ordered);
     }
 
 }
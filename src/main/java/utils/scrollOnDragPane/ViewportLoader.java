@@ -0,0 +1,116 @@
+package utils.scrollOnDragPane;
+
+import javafx.application.Platform;
+import javafx.beans.InvalidationListener;
+import javafx.geometry.BoundingBox;
+import javafx.geometry.Bounds;
+import javafx.scene.Node;
+import javafx.scene.Scene;
+import javafx.scene.control.ScrollPane;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class ViewportLoader {
+    /*
+    Defers the creation of the content of a scroll pane until it is about to be visible.
+    A placeholder node is displayed instead, and replaced when it gets close to the viewport
+    (after a scroll, a resize, a zoom or a layout change).
+     */
+
+    private static final double MARGIN = 600;
+
+    private final ScrollPane pane;
+    private final Map<Node, Runnable> pending = new LinkedHashMap<>();
+    private boolean checkRequested = false;
+    private final Runnable afterLayout = this::checkAfterLayout;
+
+    public ViewportLoader(ScrollPane pane) {
+        this.pane = pane;
+        InvalidationListener onViewportChange = observable -> requestCheck();
+        pane.hvalueProperty().addListener(onViewportChange);
+        pane.vvalueProperty().addListener(onViewportChange);
+        pane.viewportBoundsProperty().addListener(onViewportChange);
+        // a zoom (a transform of the content) or a collapsed moment moves the placeholders without scrolling
+        pane.contentProperty().addListener((observable, oldContent, newContent) -> {
+            if (oldContent != null) {
+                oldContent.boundsInParentProperty().removeListener(onViewportChange);
+                oldContent.layoutBoundsProperty().removeListener(onViewportChange);
+            }
+            if (newContent != null) {
+                newContent.boundsInParentProperty().addListener(onViewportChange);
+                newContent.layoutBoundsProperty().addListener(onViewportChange);
+            }
+            requestCheck();
+        });
+        if (pane.getContent() != null) {
+            pane.getContent().boundsInParentProperty().addListener(onViewportChange);
+            pane.getContent().layoutBoundsProperty().addListener(onViewportChange);
+        }
+        pane.sceneProperty().addListener((observable, oldScene, newScene) -> {
+            if (oldScene != null)
+                oldScene.removePostLayoutPulseListener(afterLayout);
+            if (newScene != null)
+                newScene.addPostLayoutPulseListener(afterLayout);
+        });
+        if (pane.getScene() != null)
+            pane.getScene().addPostLayoutPulseListener(afterLayout);
+    }
+
+    public void loadWhenVisible(Node placeholder, Runnable load) {
+        pending.put(placeholder, load);
+        requestCheck();
+    }
+
+    public void cancel(Node placeholder) {
+        pending.remove(placeholder);
+    }
+
+    public void clear() {
+        pending.clear();
+    }
+
+    private void requestCheck() {
+        if (!checkRequested && !pending.isEmpty()) {
+            checkRequested = true;
+            Platform.requestNextPulse();
+        }
+    }
+
+    // Called after each layout pass: the bounds of the placeholders are up to date
+    private void checkAfterLayout() {
+        if (!checkRequested)
+            return;
+        checkRequested = false;
+
+        Scene scene = pane.getScene();
+        if (scene == null)
+            return;
+        Bounds viewport = pane.localToScene(pane.getLayoutBounds());
+        Bounds area = new BoundingBox(
+                viewport.getMinX() - MARGIN, viewport.getMinY() - MARGIN,
+                viewport.getWidth() + 2 * MARGIN, viewport.getHeight() + 2 * MARGIN);
+
+        List<Runnable> toLoad = new ArrayList<>();
+        pending.entrySet().removeIf(entry -> {
+            Node placeholder = entry.getKey();
+            if (placeholder.getScene() == scene
+                    && area.intersects(placeholder.localToScene(placeholder.getBoundsInLocal()))) {
+                toLoad.add(entry.getValue());
+                return true;
+            }
+            return false;
+        });
+
+        if (!toLoad.isEmpty()) {
+            // the scene graph must not be modified during the pulse
+            Platform.runLater(() -> {
+                toLoad.forEach(Runnable::run);
+                // the loaded nodes may have moved the other placeholders
+                requestCheck();
+            });
+        }
+    }
+}
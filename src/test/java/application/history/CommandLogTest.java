@@ -0,0 +1,143 @@
+package application.history;
+
+import components.modelisationSpace.moment.modelCommands.RenameMoment;
+import components.modelisationSpace.moment.modelCommands.SetMomentTrans;
+import models.Moment;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class CommandLogTest {
+
+    private static final int projectHash = 42;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final HistoryState state = new HistoryState();
+    private final Moment moment = new Moment("moment");
+    private final Moment other = new Moment("other");
+    // the same moments, as read again from the project file
+    private final Moment reloadedMoment = new Moment("moment");
+    private final Moment reloadedOther = new Moment("other");
+
+    // ids of the objects in the saved project file, the other ones cannot be referenced
+    private int id(Object model) {
+        if (model == moment)
+            return 1;
+        if (model == other)
+            return 2;
+        throw new IllegalArgumentException("not in the project file");
+    }
+
+    private Object model(int id) {
+        return id == 1 ? reloadedMoment : id == 2 ? reloadedOther : null;
+    }
+
+    private static class NotSaved extends ModelUserActionCommand<Void, Void> {
+        @Override
+        public Void execute() { return null; }
+
+        @Override
+        public Void undo() { return null; }
+    }
+
+    private JSONObject writeAndRead(int readHash) throws Exception {
+        String projectPath = new File(folder.getRoot(), "project.upmt").getPath();
+        CommandLog.write(state, projectPath, projectHash, this::id);
+        return new CommandLog(projectPath, readHash, this::model).readFile();
+    }
+
+    private CommandLog log() {
+        return new CommandLog(new File(folder.getRoot(), "project.upmt").getPath(), projectHash, this::model);
+    }
+
+    @Test
+    public void undoAndRedoAreRestoredOnTheReloadedModels() throws Exception {
+        state.addCommand(new RenameMoment(moment, "first name"), true);
+        state.addCommand(new SetMomentTrans(other, false), true);
+        state.addCommand(new RenameMoment(other, "other name"), false);
+        state.addCommand(new RenameMoment(moment, "second name"), true);
+        state.unexecuteUserAction();
+
+        JSONObject obj = writeAndRead(projectHash);
+        List<ModelUserActionCommand> undo = log().decode(obj.getJSONArray("undo"));
+        List<ModelUserActionCommand> redo = log().decode(obj.getJSONArray("redo"));
+        assertEquals(3, undo.size());
+        assertEquals(1, redo.size());
+        // the commands of a user action are still grouped
+        assertEquals(undo.get(0).getUserActionIdentifier(), undo.get(1).getUserActionIdentifier());
+        assertNotEquals(undo.get(1).getUserActionIdentifier(), undo.get(2).getUserActionIdentifier());
+
+        reloadedMoment.setName("first name");
+        reloadedOther.setName("other name");
+        reloadedOther.setTransitional(true);
+        HistoryState reloaded = new HistoryState();
+        assertTrue(reloaded.restore(undo, redo));
+
+        reloaded.unexecuteUserAction();
+        assertEquals("other", reloadedOther.getName());
+        assertFalse(reloadedOther.getTransitional());
+        reloaded.unexecuteUserAction();
+        assertEquals("moment", reloadedMoment.getName());
+        assertFalse(reloaded.canGoBackProperty().get());
+
+        for (int i = 0; i < 3; i++)
+            reloaded.executeUserAction();
+        assertEquals("second name", reloadedMoment.getName());
+    }
+
+    @Test
+    public void aLogOfAnotherVersionOfTheProjectIsIgnored() throws Exception {
+        state.addCommand(new RenameMoment(moment, "new name"), true);
+        assertNotNull(writeAndRead(projectHash));
+        assertNull(writeAndRead(projectHash + 1));
+    }
+
+    @Test
+    public void theLogStopsAtTheFirstUserActionThatCannotBeEncoded() {
+        state.addCommand(new RenameMoment(moment, "first name"), true);
+        state.addCommand(new NotSaved(), true);
+        state.addCommand(new RenameMoment(other, "other name"), false);
+        state.addCommand(new RenameMoment(moment, "second name"), true);
+        state.addCommand(new RenameMoment(other, "second other name"), false);
+
+        // only the last user action: the one before is not saved at all, even its rename
+        JSONArray undo = CommandLog.encode(state.undoCommands(), this::id);
+        assertEquals(2, undo.length());
+        assertEquals("second other name", undo.getJSONObject(0).getString("newName"));
+        assertEquals("second name", undo.getJSONObject(1).getString("newName"));
+    }
+
+    @Test
+    public void theLogStopsAtAReferenceOutsideOfTheProjectFile() {
+        Moment deleted = new Moment("deleted");
+        state.addCommand(new RenameMoment(moment, "first name"), true);
+        state.addCommand(new RenameMoment(deleted, "new name"), true);
+        state.addCommand(new RenameMoment(other, "other name"), true);
+
+        JSONArray undo = CommandLog.encode(state.undoCommands(), this::id);
+        assertEquals(1, undo.length());
+        List<ModelUserActionCommand> decoded = log().decode(undo);
+        assertEquals(1, decoded.size());
+        assertTrue(decoded.get(0) instanceof RenameMoment);
+    }
+
+    @Test
+    public void decodingStopsAtAnUnknownObject() {
+        state.addCommand(new RenameMoment(moment, "first name"), true);
+        state.addCommand(new RenameMoment(other, "other name"), true);
+        JSONArray undo = CommandLog.encode(state.undoCommands(), this::id);
+        // the newest user action references an id that is not in the reloaded project
+        undo.getJSONObject(0).put("moment", 3);
+
+        assertTrue(log().decode(undo).isEmpty());
+    }
+}
@@ -0,0 +1,225 @@
+package application.history;
+
+import application.configuration.AppSettings;
+import components.modelisationSpace.moment.modelCommands.RenameMoment;
+import models.Moment;
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static application.history.ModelUserActionCommandHooks.HookMoment.*;
+import static org.junit.Assert.*;
+
+public class HistoryStateTest {
+
+    private final int maxUserActions = AppSettings.historyMaxUserActions;
+    private final int maxMegabytes = AppSettings.historyMaxMegabytes;
+
+    private final HistoryState state = new HistoryState();
+    private final List<String> values = new ArrayList<>();
+    private final List<String> hooksRun = new ArrayList<>();
+
+    // adds its value to the values, with a size in the history
+    private class AddValue extends ModelUserActionCommand<Void, Void> {
+        private final String value;
+        private final long size;
+
+        AddValue(String value, long size) {
+            this.value = value;
+            this.size = size;
+        }
+
+        AddValue(String value) { this(value, 100); }
+
+        @Override
+        public Void execute() {
+            values.add(value);
+            return null;
+        }
+
+        @Override
+        public Void undo() {
+            values.remove(values.size() - 1);
+            return null;
+        }
+
+        @Override
+        protected long estimatedSize() { return size; }
+    }
+
+    @After
+    public void restoreSettings() {
+        AppSettings.historyMaxUserActions = maxUserActions;
+        AppSettings.historyMaxMegabytes = maxMegabytes;
+    }
+
+    private int undoCommands() {
+        int count = 0;
+        for (ModelUserActionCommand c : state.undoCommands())
+            count++;
+        return count;
+    }
+
+    private AddValue addValueWithHook(String value) {
+        AddValue command = new AddValue(value);
+        command.hooks().setHook(AfterExecute, () -> hooksRun.add(value));
+        return command;
+    }
+
+    private RenameMoment rename(Moment moment, String name, String hook) {
+        RenameMoment command = new RenameMoment(moment, name);
+        command.hooks().setHook(AfterUndo, () -> hooksRun.add(hook));
+        return command;
+    }
+
+    @Test
+    public void successiveRenamesAreUndoneAndRedoneTogether() {
+        Moment moment = new Moment("moment");
+        state.addCommand(rename(moment, "m", "first"), true);
+        long firstAction = state.getCurrentCommandId();
+        state.addCommand(rename(moment, "mo", "second"), true);
+        state.addCommand(rename(moment, "mom", "third"), true);
+        assertEquals(1, undoCommands());
+        // the merged command has the identifier of the last action: the project is modified since it was saved
+        assertNotEquals(firstAction, state.getCurrentCommandId());
+
+        state.unexecuteUserAction();
+        assertEquals("moment", moment.getName());
+        assertEquals(List.of("third"), hooksRun);
+        assertFalse(state.canGoBackProperty().get());
+
+        state.executeUserAction();
+        assertEquals("mom", moment.getName());
+        assertTrue(state.canGoBackProperty().get());
+        assertFalse(state.canGoForwardProperty().get());
+    }
+
+    @Test
+    public void onlySingleCommandActionsOnTheSameElementAreMerged() {
+        Moment moment = new Moment("moment");
+        Moment other = new Moment("other");
+        state.addCommand(rename(moment, "m", "first"), true);
+        state.addCommand(rename(other, "o", "other"), true);
+        assertEquals(2, undoCommands());
+
+        // an action of two commands
+        state.addCommand(rename(moment, "mo", "second"), true);
+        state.addCommand(rename(other, "ot", "other"), false);
+        state.addCommand(rename(moment, "mom", "third"), true);
+        assertEquals(5, undoCommands());
+
+        state.unexecuteUserAction();
+        assertEquals("mo", moment.getName());
+        state.unexecuteUserAction();
+        assertEquals("m", moment.getName());
+        assertEquals("o", other.getName());
+    }
+
+    @Test
+    public void theOldestUserActionsAreForgotten() {
+        AppSettings.historyMaxUserActions = 3;
+        for (int i = 0; i < 5; i++) {
+            state.addCommand(new AddValue("a" + i), true);
+            state.addCommand(new AddValue("b" + i), false);
+        }
+        assertEquals(6, undoCommands());
+
+        for (int i = 0; i < 5; i++)
+            state.unexecuteUserAction();
+        assertEquals(List.of("a0", "b0", "a1", "b1"), values);
+        assertFalse(state.canGoBackProperty().get());
+
+        for (int i = 0; i < 3; i++)
+            state.executeUserAction();
+        assertEquals(10, values.size());
+    }
+
+    @Test
+    public void theHistoryIsBoundedInBytes() {
+        AppSettings.historyMaxUserActions = 0;
+        AppSettings.historyMaxMegabytes = 1;
+        // two of them fit in a megabyte, three do not
+        for (int i = 0; i < 4; i++)
+            state.addCommand(new AddValue("v" + i, 400 * 1024), true);
+        assertEquals(2, undoCommands());
+    }
+
+    @Test
+    public void theCurrentUserActionIsKeptWhateverItsSize() {
+        AppSettings.historyMaxMegabytes = 1;
+        state.addCommand(new AddValue("small"), true);
+        state.addCommand(new AddValue("huge", 2 * 1024 * 1024), true);
+        state.addCommand(new AddValue("huge too", 1024), false);
+        assertEquals(2, undoCommands());
+
+        state.unexecuteUserAction();
+        assertEquals(List.of("small"), values);
+        assertFalse(state.canGoBackProperty().get());
+        state.executeUserAction();
+        assertEquals(List.of("small", "huge", "huge too"), values);
+    }
+
+    @Test
+    public void aTransactionIsOneUserActionWithItsHooksRunAtCommit() {
+        state.beginTransaction();
+        state.addCommand(addValueWithHook("a"), true);
+        state.addCommand(addValueWithHook("b"), true);
+        assertTrue(hooksRun.isEmpty());
+        assertFalse(state.canGoBackProperty().get());
+
+        state.commitTransaction().forEach(Runnable::run);
+        assertEquals(List.of("a", "b"), hooksRun);
+        assertTrue(state.canGoBackProperty().get());
+
+        state.unexecuteUserAction();
+        assertTrue(values.isEmpty());
+        assertFalse(state.canGoBackProperty().get());
+    }
+
+    @Test
+    public void anInnerRollbackKeepsTheOuterTransaction() {
+        state.addCommand(new AddValue("before"), true);
+        state.beginTransaction();
+        state.addCommand(addValueWithHook("a"), true);
+        int inner = state.beginTransaction();
+        state.addCommand(addValueWithHook("b"), true);
+        state.addCommand(addValueWithHook("c"), false);
+        state.rollbackTransaction(inner);
+        assertEquals(List.of("before", "a"), values);
+        assertTrue(state.inTransaction());
+
+        state.addCommand(addValueWithHook("d"), true);
+        state.commitTransaction().forEach(Runnable::run);
+        assertFalse(state.inTransaction());
+        assertEquals(List.of("a", "d"), hooksRun);
+        assertEquals(List.of("before", "a", "d"), values);
+
+        state.unexecuteUserAction();
+        assertEquals(List.of("before"), values);
+        assertTrue(state.canGoBackProperty().get());
+    }
+
+    @Test
+    public void aRollbackDiscardsTheDeferredHooks() {
+        state.addCommand(new AddValue("before"), true);
+        long before = state.getCurrentCommandId();
+        int marker = state.beginTransaction();
+        state.addCommand(addValueWithHook("a"), true);
+        state.addCommand(addValueWithHook("b"), true);
+        state.rollbackTransaction(marker);
+        assertFalse(state.inTransaction());
+        assertEquals(List.of("before"), values);
+        assertEquals(before, state.getCurrentCommandId());
+        assertFalse(state.canGoForwardProperty().get());
+
+        // the next transaction doesn't get the hooks of the rolled back commands
+        state.beginTransaction();
+        state.addCommand(addValueWithHook("c"), true);
+        state.commitTransaction().forEach(Runnable::run);
+        assertEquals(List.of("c"), hooksRun);
+        assertEquals(List.of("before", "c"), values);
+        assertEquals(2, undoCommands());
+    }
+}
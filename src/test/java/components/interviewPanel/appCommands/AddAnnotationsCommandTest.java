@@ -0,0 +1,104 @@
+package components.interviewPanel.appCommands;
+
+import components.interviewPanel.ModelCommands.ReplaceAnnotations;
+import javafx.scene.paint.Color;
+import models.Annotation;
+import models.InterviewText;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class AddAnnotationsCommandTest {
+
+    private final InterviewText text = new InterviewText("0123456789012345678901234567890123456789");
+
+    private void apply(Annotation... annotations) {
+        ReplaceAnnotations cmd = new AddAnnotationsCommand(text, Arrays.asList(annotations)).createReplaceAnnotations();
+        if (cmd != null)
+            cmd.execute();
+    }
+
+    private Annotation annotation(int start, int end, Color color) {
+        return new Annotation(text, start, end, color);
+    }
+
+    private List<String> describe() {
+        List<String> result = new ArrayList<>();
+        for (Annotation a : text.getSortedAnnotation())
+            result.add(a.getStartIndex() + "-" + a.getEndIndex() + " " + a.getColor());
+        return result;
+    }
+
+    private static String d(int start, int end, Color color) {
+        return start + "-" + end + " " + color;
+    }
+
+    @Test
+    public void adjacentRangesOfTheSameColorAreJoined() {
+        apply(annotation(0, 5, Color.RED), annotation(5, 10, Color.RED));
+        assertEquals(Arrays.asList(d(0, 10, Color.RED)), describe());
+    }
+
+    @Test
+    public void adjacentRangesOfDifferentColorsAreKept() {
+        Annotation first = annotation(0, 5, Color.RED);
+        Annotation second = annotation(5, 10, Color.BLUE);
+        apply(first, second);
+        assertEquals(Arrays.asList(d(0, 5, Color.RED), d(5, 10, Color.BLUE)), describe());
+        assertTrue(text.getAnnotationsProperty().contains(first));
+        assertTrue(text.getAnnotationsProperty().contains(second));
+    }
+
+    @Test
+    public void aLaterRangeOverridesTheOverlap() {
+        apply(annotation(0, 6, Color.RED), annotation(4, 10, Color.BLUE));
+        assertEquals(Arrays.asList(d(0, 4, Color.RED), d(4, 10, Color.BLUE)), describe());
+    }
+
+    @Test
+    public void aNestedRangeSplitsTheOuterOne() {
+        apply(annotation(0, 10, Color.RED), annotation(3, 5, Color.BLUE));
+        assertEquals(Arrays.asList(d(0, 3, Color.RED), d(3, 5, Color.BLUE), d(5, 10, Color.RED)), describe());
+    }
+
+    @Test
+    public void anOuterRangeHidesAnEarlierNestedOne() {
+        apply(annotation(3, 5, Color.BLUE), annotation(0, 10, Color.RED));
+        assertEquals(Arrays.asList(d(0, 10, Color.RED)), describe());
+    }
+
+    @Test
+    public void newRangesSplitExistingAnnotationsAndUndoRestoresThem() {
+        Annotation existing = annotation(0, 10, Color.GREEN);
+        Annotation untouched = annotation(20, 30, Color.GREEN);
+        text.addAnnotations(Arrays.asList(existing, untouched));
+
+        ReplaceAnnotations cmd = new AddAnnotationsCommand(text, Arrays.asList(annotation(3, 5, Color.RED), annotation(8, 22, Color.BLUE))).createReplaceAnnotations();
+        cmd.execute();
+        assertEquals(Arrays.asList(d(0, 3, Color.GREEN), d(3, 5, Color.RED), d(5, 8, Color.GREEN), d(8, 22, Color.BLUE), d(22, 30, Color.GREEN)), describe());
+        assertFalse(text.getAnnotationsProperty().contains(existing));
+
+        cmd.undo();
+        assertEquals(Arrays.asList(d(0, 10, Color.GREEN), d(20, 30, Color.GREEN)), describe());
+        assertTrue(text.getAnnotationsProperty().contains(existing));
+        assertTrue(text.getAnnotationsProperty().contains(untouched));
+    }
+
+    @Test
+    public void existingAnnotationsOutsideTheNewRangesAreKept() {
+        Annotation existing = annotation(20, 30, Color.GREEN);
+        text.addAnnotations(Arrays.asList(existing));
+        apply(annotation(0, 10, Color.RED));
+        assertTrue(text.getAnnotationsProperty().contains(existing));
+        assertEquals(Arrays.asList(d(0, 10, Color.RED), d(20, 30, Color.GREEN)), describe());
+    }
+
+    @Test
+    public void anEmptyBatchChangesNothing() {
+        assertNull(new AddAnnotationsCommand(text, new ArrayList<>()).createReplaceAnnotations());
+    }
+}
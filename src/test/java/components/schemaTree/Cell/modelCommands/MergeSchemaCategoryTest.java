@@ -0,0 +1,152 @@
+package components.schemaTree.Cell.modelCommands;
+
+import components.schemaTree.Services.usagesIndex.SchemaUsagesIndex;
+import models.*;
+import org.junit.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class MergeSchemaCategoryTest {
+
+    private final SchemaFolder folder = new SchemaFolder("folder");
+    private final SchemaCategory source = new SchemaCategory("source");
+    private final SchemaCategory target = new SchemaCategory("target");
+    private final SchemaProperty sourceShared = new SchemaProperty("Shared");
+    private final SchemaProperty sourceOnly = new SchemaProperty("source only");
+    private final SchemaProperty targetShared = new SchemaProperty("shared");
+    private final SchemaProperty targetOnly = new SchemaProperty("target only");
+
+    private final InterviewText text = new InterviewText("some words of the interview");
+    private final Interview interview = new Interview("interview", LocalDate.of(2020, 1, 1), text, new RootMoment());
+    private final Project project;
+
+    // coded with the source only
+    private final Moment sourceOnlyMoment = new Moment("source only");
+    private final ConcreteCategory alone;
+    // coded with both
+    private final Moment bothMoment = new Moment("both");
+    private final ConcreteCategory merged;
+    private final ConcreteCategory existing;
+
+    public MergeSchemaCategoryTest() {
+        SchemaTreeRoot root = new SchemaTreeRoot("root");
+        root.addChild(folder);
+        folder.addChild(source);
+        folder.addChild(target);
+        source.addChild(sourceShared);
+        source.addChild(sourceOnly);
+        target.addChild(targetShared);
+        target.addChild(targetOnly);
+        project = new Project("project", root);
+        project.addInterview(interview);
+
+        alone = concrete(source, "alone", "");
+        merged = concrete(source, "merged", "lost");
+        existing = concrete(target, "", "kept");
+        sourceOnlyMoment.addCategory(alone);
+        bothMoment.addCategory(existing);
+        bothMoment.addCategory(merged);
+        interview.getRootMoment().addMoment(sourceOnlyMoment);
+        interview.getRootMoment().addMoment(bothMoment);
+
+        justify(existing.getJustification(), 0, 4);
+        justify(merged.getJustification(), 0, 4);
+        justify(merged.getJustification(), 5, 10);
+        justify(merged.propertiesProperty().get(0).getJustification(), 11, 13);
+        justify(merged.propertiesProperty().get(1).getJustification(), 14, 17);
+
+        source.setNumberOfUsesInModelisation(2);
+        target.setNumberOfUsesInModelisation(1);
+        sourceShared.setNumberOfUsesInModelisation(2);
+        sourceOnly.setNumberOfUsesInModelisation(1);
+        targetOnly.setNumberOfUsesInModelisation(1);
+    }
+
+    // the values are given in the order of the schema properties, "" for none
+    private static ConcreteCategory concrete(SchemaCategory category, String... values) {
+        ConcreteCategory concreteCategory = new ConcreteCategory(category);
+        for (int i = 0; i < values.length; i++)
+            concreteCategory.propertiesProperty().get(i).setValue(values[i]);
+        return concreteCategory;
+    }
+
+    private void justify(Justification justification, int start, int end) {
+        Descripteme descripteme = new Descripteme(text, start, end);
+        justification.addDescripteme(descripteme);
+        text.addDescripteme(descripteme);
+    }
+
+    private static int uses(SchemaCategory category) {
+        return category.numberOfUsesInModelisationProperty().get();
+    }
+
+    private static int uses(SchemaProperty property) {
+        return property.numberOfUsesInModelisationProperty().get();
+    }
+
+    private static String value(ConcreteCategory category, int index) {
+        return category.propertiesProperty().get(index).getValue();
+    }
+
+    @Test
+    public void aMomentWithTheTargetKeepsASingleConcreteCategory() {
+        MergeSchemaCategory merge = new MergeSchemaCategory(project, new SchemaUsagesIndex(project), folder, source, target);
+        merge.execute();
+
+        assertEquals(List.of(existing), bothMoment.concreteCategoriesProperty());
+        // the descripteme already in the justification is not added twice
+        assertEquals(2, existing.getJustification().descriptemesProperty().size());
+        assertEquals(5, existing.getJustification().descriptemesProperty().get(1).getStartIndex());
+        // the empty value is filled, the other one is kept
+        assertEquals("merged", value(existing, 0));
+        assertEquals("kept", value(existing, 1));
+        assertEquals(1, existing.propertiesProperty().get(0).getJustification().descriptemesProperty().size());
+        // the descriptemes of the lost value and the duplicate are no longer in the text
+        assertEquals(3, text.getDescriptemesProperty().size());
+
+        ConcreteCategory replacement = sourceOnlyMoment.concreteCategoriesProperty().get(0);
+        assertTrue(replacement.isSchemaCategory(target));
+        assertEquals("alone", value(replacement, 0));
+
+        assertEquals(0, uses(source));
+        assertEquals(2, uses(target));
+        assertEquals(0, uses(sourceShared));
+        assertEquals(0, uses(sourceOnly));
+        assertEquals(2, uses(targetShared));
+        assertEquals(1, uses(targetOnly));
+        assertFalse(folder.hasChild(source));
+    }
+
+    @Test
+    public void undoRestoresBothConcreteCategories() {
+        MergeSchemaCategory merge = new MergeSchemaCategory(project, new SchemaUsagesIndex(project), folder, source, target);
+        merge.execute();
+        merge.undo();
+
+        assertEquals(List.of(existing, merged), bothMoment.concreteCategoriesProperty());
+        assertEquals(List.of(alone), sourceOnlyMoment.concreteCategoriesProperty());
+        assertEquals(1, existing.getJustification().descriptemesProperty().size());
+        assertEquals(2, merged.getJustification().descriptemesProperty().size());
+        assertEquals("", value(existing, 0));
+        assertTrue(existing.propertiesProperty().get(0).getJustification().descriptemesProperty().isEmpty());
+        assertEquals("merged", value(merged, 0));
+        assertEquals(5, text.getDescriptemesProperty().size());
+
+        assertEquals(2, uses(source));
+        assertEquals(1, uses(target));
+        assertEquals(2, uses(sourceShared));
+        assertEquals(1, uses(sourceOnly));
+        assertEquals(0, uses(targetShared));
+        assertEquals(1, uses(targetOnly));
+        assertEquals(0, folder.getChildIndex(source));
+
+        // redone
+        merge.execute();
+        assertEquals(List.of(existing), bothMoment.concreteCategoriesProperty());
+        assertEquals(2, uses(target));
+        assertEquals(2, uses(targetShared));
+    }
+}
@@ -0,0 +1,119 @@
+package components.schemaTree.Services.usagesIndex;
+
+import models.*;
+import org.junit.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class SchemaUsagesIndexTest {
+
+    private final SchemaCategory category = new SchemaCategory("category");
+    private final SchemaProperty property = new SchemaProperty("property");
+
+    private final Interview interview = new Interview("interview", LocalDate.of(2020, 1, 1), new InterviewText("some words"), new RootMoment());
+    private final Project project;
+    private final SchemaUsagesIndex index;
+
+    private final Moment parent = new Moment("parent");
+    private final Moment other = new Moment("other");
+    private final Moment coded = new Moment("coded");
+    private final ConcreteCategory concreteCategory;
+
+    public SchemaUsagesIndexTest() {
+        SchemaTreeRoot root = new SchemaTreeRoot("root");
+        SchemaFolder folder = new SchemaFolder("folder");
+        root.addChild(folder);
+        folder.addChild(category);
+        category.addChild(property);
+        project = new Project("project", root);
+        project.addInterview(interview);
+
+        concreteCategory = new ConcreteCategory(category);
+        concreteCategory.propertiesProperty().get(0).setValue("value");
+        coded.addCategory(concreteCategory);
+        parent.addMoment(coded);
+        interview.getRootMoment().addMoment(parent);
+        interview.getRootMoment().addMoment(other);
+
+        index = new SchemaUsagesIndex(project);
+        // built on the first query, so that the changes below are followed
+        assertEquals(1, index.getUses(category));
+    }
+
+    private void assertUsedBy(Moment moment) {
+        assertEquals(List.of(concreteCategory), index.getConcreteCategories(category));
+        assertEquals(1, index.getUses(property));
+        assertSame(moment, index.getMoment(concreteCategory));
+        List<SchemaUsagesIndex.Use> uses = index.listUses(category);
+        assertEquals(1, uses.size());
+        assertSame(interview, uses.get(0).getInterview());
+        assertSame(moment, uses.get(0).getMoment());
+        assertSame(concreteCategory, index.getConcreteCategory(concreteCategory.propertiesProperty().get(0)));
+    }
+
+    private void assertUnused() {
+        assertTrue(index.getConcreteCategories(category).isEmpty());
+        assertEquals(0, index.getUses(category));
+        assertEquals(0, index.getUses(property));
+        assertTrue(index.listUses(property).isEmpty());
+        assertNull(index.getMoment(concreteCategory));
+    }
+
+    @Test
+    public void aMomentMovedIsAddedBeforeBeingRemoved() {
+        other.addMoment(coded);
+        parent.removeMoment(coded);
+        assertUsedBy(coded);
+        assertSame(interview, index.getInterview(coded));
+
+        // the moved moment is still followed
+        ConcreteCategory added = new ConcreteCategory(category);
+        coded.addCategory(added);
+        assertEquals(2, index.getUses(category));
+        coded.removeCategory(added);
+        assertEquals(1, index.getUses(category));
+
+        other.removeMoment(coded);
+        assertUnused();
+        assertNull(index.getInterview(coded));
+    }
+
+    @Test
+    public void anUndoneRemovalIsFollowedAgain() {
+        interview.getRootMoment().removeMoment(parent);
+        assertUnused();
+
+        interview.getRootMoment().addMoment(0, parent);
+        assertUsedBy(coded);
+        concreteCategory.propertiesProperty().get(0).setValue("");
+        assertEquals(0, index.getUses(property));
+    }
+
+    @Test
+    public void aCategoryMovedIsAddedBeforeBeingRemoved() {
+        other.addCategory(concreteCategory);
+        coded.removeCategory(concreteCategory);
+        assertUsedBy(other);
+
+        other.removeCategory(concreteCategory);
+        assertUnused();
+    }
+
+    @Test
+    public void theUsesOfARemovedInterviewAreForgotten() {
+        project.removeInterview(interview);
+        assertUnused();
+        assertNull(index.getInterview(interview.getRootMoment()));
+
+        // no longer followed
+        coded.addCategory(new ConcreteCategory(category));
+        assertEquals(0, index.getUses(category));
+
+        project.addInterview(interview);
+        assertEquals(2, index.getUses(category));
+        assertSame(interview, index.getInterview(interview.getRootMoment()));
+    }
+}
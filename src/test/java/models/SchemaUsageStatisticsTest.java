@@ -0,0 +1,123 @@
+package models;
+
+import components.schemaTree.Services.usageStatistics.SchemaUsageStatisticsService;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import persistency.ProjectLoader;
+import persistency.ProjectSaver;
+
+import java.io.File;
+import java.time.LocalDate;
+
+import static org.junit.Assert.*;
+
+public class SchemaUsageStatisticsTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final SchemaCategory category = new SchemaCategory("category");
+    private final SchemaProperty property = new SchemaProperty("property");
+    private final Project project;
+    private final Interview first = interview("first");
+    private final Interview second = interview("second");
+
+    public SchemaUsageStatisticsTest() {
+        SchemaTreeRoot root = new SchemaTreeRoot("root");
+        SchemaFolder schemaFolder = new SchemaFolder("folder");
+        root.addChild(schemaFolder);
+        schemaFolder.addChild(category);
+        category.addChild(property);
+        project = new Project("project", root);
+        project.addInterview(first);
+        project.addInterview(second);
+    }
+
+    private static Interview interview(String name) {
+        return new Interview(name, LocalDate.of(2020, 1, 1), new InterviewText("text"), new RootMoment());
+    }
+
+    private Moment codedMoment(String value) {
+        Moment moment = new Moment("moment");
+        ConcreteCategory concreteCategory = new ConcreteCategory(category);
+        concreteCategory.propertiesProperty().get(0).setValue(value);
+        moment.addCategory(concreteCategory);
+        return moment;
+    }
+
+    private Project saveAndReload(Project project) throws Exception {
+        File file = folder.newFile("project.upmt");
+        ProjectSaver.save(project, file.getPath());
+        return ProjectLoader.load(file.getPath());
+    }
+
+    // the saved counts are the ones of a full recount of the saved interviews
+    private static void assertUpToDate(Project project) {
+        SchemaUsageStatistics statistics = project.getUsageStatistics();
+        for (Interview interview : project.interviewsProperty()) {
+            SchemaUsageStatistics recount = new SchemaUsageStatistics();
+            recount.setUses(interview, SchemaUsageStatistics.count(interview));
+            assertEquals(recount.getUses(interview).size(), statistics.getUses(interview).size());
+            for (SchemaUsageStatistics.Uses uses : recount.getUses(interview)) {
+                assertEquals(uses.getTotal(), statistics.getUses(interview, uses.getElement()));
+                assertArrayEquals(uses.getUsesByDepth(), usesByDepth(statistics, interview, uses.getElement()));
+            }
+        }
+    }
+
+    private static int[] usesByDepth(SchemaUsageStatistics statistics, Interview interview, SchemaElement element) {
+        for (SchemaUsageStatistics.Uses uses : statistics.getUses(interview)) {
+            if (uses.getElement() == element)
+                return uses.getUsesByDepth();
+        }
+        return new int[0];
+    }
+
+    @Test
+    public void theSelectedInterviewIsRecountedWhenSaving() throws Exception {
+        project.setSelectedInterview(first);
+        SchemaUsageStatisticsService service = new SchemaUsageStatisticsService(project);
+        assertEquals(0, service.getUses(first, category));
+
+        Moment moment = codedMoment("value");
+        first.getRootMoment().addMoment(moment);
+        moment.addMoment(codedMoment(""));
+
+        Project reloaded = saveAndReload(project);
+        assertUpToDate(reloaded);
+        Interview reloadedFirst = reloaded.interviewsProperty().get(0);
+        assertEquals(2, reloaded.getUsageStatistics().getUses(reloadedFirst, reloaded.getSchemaTreeRoot().foldersProperty().get(0).categoriesProperty().get(0)));
+        service.unbind();
+    }
+
+    @Test
+    public void anInterviewIsRecountedAfterItWasLeft() throws Exception {
+        project.setSelectedInterview(first);
+        SchemaUsageStatisticsService service = new SchemaUsageStatisticsService(project);
+        first.getRootMoment().addMoment(codedMoment("value"));
+        assertEquals(1, service.getUses(first, property));
+
+        // modified after its last count, then left
+        first.getRootMoment().momentsProperty().get(0).addMoment(codedMoment("other value"));
+        project.setSelectedInterview(second);
+        second.getRootMoment().addMoment(codedMoment(""));
+
+        assertUpToDate(saveAndReload(project));
+        assertArrayEquals(new int[] { 1, 1 }, service.getUsesByDepth(property));
+        service.unbind();
+    }
+
+    @Test
+    public void outdatedInterviewsAreRecounted() {
+        project.setSelectedInterview(second);
+        project.getUsageStatistics().update(project);
+        first.getRootMoment().addMoment(codedMoment("value"));
+        assertEquals(0, project.getUsageStatistics().getUses(first, category));
+
+        project.getUsageStatistics().setOutdated(first);
+        project.getUsageStatistics().update(project);
+        assertEquals(1, project.getUsageStatistics().getUses(first, category));
+        assertEquals(2, project.getUsageStatistics().getInterviews().size());
+    }
+}
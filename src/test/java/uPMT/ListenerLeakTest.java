@@ -0,0 +1,190 @@
+package uPMT;
+
+import application.configuration.Configuration;
+import components.modelisationSpace.appCommand.ScrollPaneCommandFactory;
+import components.modelisationSpace.category.controllers.ConcreteCategoryController;
+import components.modelisationSpace.hooks.ModelisationSpaceHook;
+import components.modelisationSpace.hooks.ModelisationSpaceHookNotifier;
+import components.modelisationSpace.moment.controllers.MomentController;
+import components.modelisationSpace.moment.controllers.RootMomentController;
+import javafx.application.Platform;
+import javafx.scene.control.ScrollPane;
+import models.*;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import utils.modelControllers.ListView.ListView;
+
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Field;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.ResourceBundle;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.*;
+
+/*
+ * Opening an interview mounts the moment, category and property controllers on its models, displaying another
+ * interview unmounts them. The models outlive the views (the project keeps all the interviews, the schema is
+ * shared by all of them): once unmounted, the controllers must not be referenced by the models anymore.
+ * Runs the JavaFX toolkit headless (see the test configuration in build.gradle).
+ */
+public class ListenerLeakTest {
+
+    private final SchemaCategory category = new SchemaCategory("category");
+    private final SchemaProperty property = new SchemaProperty("property");
+
+    @BeforeClass
+    public static void startToolkit() throws InterruptedException {
+        if (Configuration.langBundle == null)
+            Configuration.langBundle = ResourceBundle.getBundle("bundles.Lang", Locale.ENGLISH);
+        CountDownLatch started = new CountDownLatch(1);
+        try {
+            Platform.startup(started::countDown);
+        } catch (IllegalStateException alreadyStarted) {
+            started.countDown();
+        }
+        Platform.setImplicitExit(false);
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+    }
+
+    public ListenerLeakTest() {
+        category.addChild(property);
+    }
+
+    @Test
+    public void unmountedControllersAreNotKeptByTheModels() throws Exception {
+        Interview interview = createInterview();
+        List<WeakReference<Object>> controllers = onFxThread(() -> {
+            RootMomentController view = mount(interview);
+            List<WeakReference<Object>> result = new ArrayList<>();
+            for (Moment moment : allMoments(interview.getRootMoment())) {
+                MomentController momentController = moment.getController();
+                assertNotNull("moment not displayed", momentController);
+                result.add(new WeakReference<>(momentController));
+                ListView<ConcreteCategory, ConcreteCategoryController> categories = field(momentController, "categories");
+                for (int i = 0; i < moment.concreteCategoriesProperty().size(); i++) {
+                    ConcreteCategoryController categoryController = categories.getControllerFromIndex(i);
+                    result.add(new WeakReference<>(categoryController));
+                    ListView<ConcreteProperty, ?> properties = field(categoryController, "properties");
+                    result.add(new WeakReference<>(properties.getControllerFromIndex(0)));
+                }
+            }
+            view.unmount();
+            return result;
+        });
+        assertEquals(3 * 3, controllers.size());
+
+        // the interview and the schema are still referenced, as they are by the project
+        assertCollected("unmounted controllers", controllers);
+        for (Moment moment : allMoments(interview.getRootMoment()))
+            assertNull(moment.getController());
+        assertEquals("category", category.getName());
+    }
+
+    @Test
+    public void closedInterviewsAreNotKeptByTheSchema() throws Exception {
+        List<WeakReference<Object>> interviews = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            Interview interview = createInterview();
+            interviews.add(new WeakReference<>(interview));
+            onFxThread(() -> {
+                mount(interview).unmount();
+                return null;
+            });
+        }
+        assertCollected("closed interviews", interviews);
+        assertEquals(1, category.propertiesProperty().size());
+    }
+
+    private Interview createInterview() {
+        return new Interview("participant", LocalDate.now(), new InterviewText("some interview text"), new RootMoment());
+    }
+
+    // Two moments, the second one with a sub-moment, each with a concrete category of the schema.
+    // They are added once the view is mounted: the ones already there would only get placeholders.
+    private RootMomentController mount(Interview interview) {
+        ScrollPane pane = new ScrollPane();
+        ScrollPaneCommandFactory paneCmdFactory = new ScrollPaneCommandFactory(pane);
+        RootMomentController view = new RootMomentController(interview.getRootMoment(), paneCmdFactory,
+                new ModelisationSpaceHookNotifier(new ModelisationSpaceHook()));
+        pane.setContent(RootMomentController.createRootMoment(view));
+
+        RootMoment root = interview.getRootMoment();
+        if (root.momentsProperty().isEmpty()) {
+            root.addMoment(codedMoment("first", root, interview));
+            Moment second = codedMoment("second", root, interview);
+            root.addMoment(second);
+            second.addMoment(codedMoment("sub-moment", second, interview));
+        }
+        return view;
+    }
+
+    private Moment codedMoment(String name, RootMoment parent, Interview interview) {
+        Moment moment = parent instanceof Moment ? new Moment(name, (Moment) parent) : new Moment(name, parent);
+        ConcreteCategory concreteCategory = new ConcreteCategory(category);
+        concreteCategory.propertiesProperty().get(0).setValue("value");
+        concreteCategory.getJustification().addDescripteme(new Descripteme(interview.getInterviewText(), 0, 4));
+        moment.addCategory(concreteCategory);
+        moment.getJustification().addDescripteme(new Descripteme(interview.getInterviewText(), 5, 14));
+        return moment;
+    }
+
+    private static List<Moment> allMoments(RootMoment parent) {
+        List<Moment> result = new ArrayList<>();
+        for (Moment moment : parent.momentsProperty()) {
+            result.add(moment);
+            result.addAll(allMoments(moment));
+        }
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T field(Object controller, String name) throws ReflectiveOperationException {
+        Field field = controller.getClass().getDeclaredField(name);
+        field.setAccessible(true);
+        return (T) field.get(controller);
+    }
+
+    private interface FxTask<T> { T run() throws Exception; }
+
+    private static <T> T onFxThread(FxTask<T> task) throws Exception {
+        AtomicReference<T> result = new AtomicReference<>();
+        AtomicReference<Throwable> error = new AtomicReference<>();
+        CountDownLatch done = new CountDownLatch(1);
+        Platform.runLater(() -> {
+            try {
+                result.set(task.run());
+            } catch (Throwable e) {
+                error.set(e);
+            } finally {
+                done.countDown();
+            }
+        });
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        if (error.get() instanceof Error)
+            throw (Error) error.get();
+        if (error.get() != null)
+            throw (Exception) error.get();
+        return result.get();
+    }
+
+    // the animations started by the views (e.g. scrolling to a new moment) keep them until they are over
+    private static void assertCollected(String what, List<WeakReference<Object>> references) throws InterruptedException {
+        int alive = references.size();
+        for (int attempt = 0; attempt < 50 && alive > 0; attempt++) {
+            System.gc();
+            Thread.sleep(100);
+            alive = 0;
+            for (WeakReference<Object> reference : references) {
+                if (reference.get() != null)
+                    alive++;
+            }
+        }
+        assertEquals(what + " still referenced", 0, alive);
+    }
+}
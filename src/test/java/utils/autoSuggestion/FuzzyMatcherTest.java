@@ -0,0 +1,79 @@
+package utils.autoSuggestion;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class FuzzyMatcherTest {
+
+    // the smallest number of typos for the pattern to appear in the text, with the whole dynamic programming table
+    private static int reference(String pattern, String text) {
+        int m = pattern.length();
+        int n = text.length();
+        int[][] d = new int[m + 1][n + 1];
+        for (int i = 0; i <= m; i++)
+            d[i][0] = i;
+        int best = m;
+        for (int j = 1; j <= n; j++) {
+            for (int i = 1; i <= m; i++) {
+                int cost = pattern.charAt(i - 1) == text.charAt(j - 1) ? 0 : 1;
+                d[i][j] = Math.min(Math.min(d[i - 1][j] + 1, d[i][j - 1] + 1), d[i - 1][j - 1] + cost);
+                if (i > 1 && j > 1 && pattern.charAt(i - 1) == text.charAt(j - 2) && pattern.charAt(i - 2) == text.charAt(j - 1))
+                    d[i][j] = Math.min(d[i][j], d[i - 2][j - 2] + 1);
+            }
+            best = Math.min(best, d[m][j]);
+        }
+        return best;
+    }
+
+    private static String random(Random random, String alphabet, int length) {
+        StringBuilder result = new StringBuilder();
+        for (int i = 0; i < length; i++)
+            result.append(alphabet.charAt(random.nextInt(alphabet.length())));
+        return result.toString();
+    }
+
+    @Test
+    public void theDistanceIsTheOneOfTheReference() {
+        Random random = new Random(7);
+        // few characters, for many matches and swaps; one of them is not a latin character
+        String alphabet = "abcπ";
+        for (int k = 0; k < 20000; k++) {
+            String pattern = random(random, alphabet, 1 + random.nextInt(10));
+            String text = random(random, alphabet, random.nextInt(16));
+            int max = random.nextInt(4);
+            int expected = Math.min(reference(pattern, text), max + 1);
+            assertEquals(pattern + " in " + text, expected, new FuzzyMatcher(pattern).distance(text, max));
+        }
+    }
+
+    @Test
+    public void theLongestPatternsAreMatched() {
+        Random random = new Random(11);
+        for (int k = 0; k < 200; k++) {
+            String pattern = random(random, "abcd", FuzzyMatcher.maxPatternLength - random.nextInt(3));
+            StringBuilder text = new StringBuilder(pattern);
+            // a few typos in the pattern, somewhere in a longer text
+            for (int typo = random.nextInt(4); typo > 0; typo--)
+                text.setCharAt(random.nextInt(text.length()), 'e');
+            text.insert(0, random(random, "abcd", random.nextInt(20)));
+            assertEquals(Math.min(reference(pattern, text.toString()), 3), new FuzzyMatcher(pattern).distance(text.toString(), 2));
+        }
+    }
+
+    @Test
+    public void swappedCharactersAreASingleTypo() {
+        assertEquals(1, new FuzzyMatcher("maison").distance("la miason", 2));
+        assertEquals(0, new FuzzyMatcher("").distance("anything", 2));
+        assertEquals(1, FuzzyMatcher.maxTypos(4));
+        assertEquals(0, FuzzyMatcher.maxTypos(3));
+        assertEquals(2, FuzzyMatcher.maxTypos(8));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void longerPatternsAreRejected() {
+        new FuzzyMatcher("a".repeat(FuzzyMatcher.maxPatternLength + 1));
+    }
+}
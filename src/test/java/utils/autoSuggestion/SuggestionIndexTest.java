@@ -0,0 +1,82 @@
+package utils.autoSuggestion;
+
+import javafx.beans.property.SimpleStringProperty;
+import javafx.beans.property.StringProperty;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class SuggestionIndexTest {
+
+    // the elements are their own names
+    private final SuggestionIndex<StringProperty> index = new SuggestionIndex<>();
+
+    private StringProperty add(String name) {
+        StringProperty element = new SimpleStringProperty(name);
+        index.add(element, element);
+        return element;
+    }
+
+    private List<String> search(String query, int max) {
+        return new ArrayList<>(index.search(query, max).keySet());
+    }
+
+    @Test
+    public void aRenamedElementIsFoundByItsNewName() {
+        StringProperty element = add("colère");
+        add("joie");
+        element.set("Tristesse");
+        assertTrue(search("colere", 10).isEmpty());
+        assertEquals(Arrays.asList("Tristesse"), search("trist", 10));
+        assertSame(element, index.search("tristesse", 10).get("Tristesse"));
+        assertEquals(List.of(element), index.named("Tristesse"));
+
+        index.remove(element);
+        element.set("joie de vivre");
+        assertEquals(Arrays.asList("joie"), search("joie", 10));
+    }
+
+    @Test
+    public void theResultsAreRankedByRelevanceThenRecency() {
+        add("achats");
+        add("le chat noir");
+        add("chaton");
+        add("chat");
+        add("chatte");
+        assertEquals(Arrays.asList("chat", "chatte", "chaton", "le chat noir", "achats"), search("chat", 10));
+
+        // picked in the suggestions: first among the prefixes
+        index.touch(index.named("chaton").get(0));
+        assertEquals(Arrays.asList("chat", "chaton", "chatte", "le chat noir", "achats"), search("chat", 10));
+    }
+
+    @Test
+    public void namesWithTyposComeAfterTheExactOnes() {
+        add("masion");
+        add("maison");
+        add("la maison bleue");
+        add("raison");
+        add("saison");
+        // the ones with a typo by recency
+        assertEquals(Arrays.asList("maison", "la maison bleue", "saison", "raison", "masion"), search("maison", 10));
+        // enough names contain the query: none with typos
+        assertEquals(Arrays.asList("maison", "la maison bleue"), search("maison", 2));
+        // too short to be searched with typos
+        assertTrue(search("mas", 10).contains("masion"));
+        assertFalse(search("mai", 10).contains("masion"));
+    }
+
+    @Test
+    public void onlyTheBestResultsAreKept() {
+        for (int i = 0; i < 20; i++)
+            add("item " + i);
+        assertEquals(Arrays.asList("item 19", "item 18", "item 17", "item 16", "item 15"), search("item", 5));
+        // an empty query gives the most recent elements
+        assertEquals(Arrays.asList("item 19", "item 18"), search("", 2));
+        assertEquals(20, index.size());
+    }
+}
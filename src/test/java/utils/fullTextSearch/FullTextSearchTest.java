@@ -0,0 +1,67 @@
+package utils.fullTextSearch;
+
+import models.*;
+import org.junit.After;
+import org.junit.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class FullTextSearchTest {
+
+    private final Project project = new Project("project", new SchemaTreeRoot("root"));
+    private final Interview first = interview("first", "Il était très ému.");
+    private final Interview second = interview("second", "Une émotion, puis une autre émotion.");
+    private final FullTextSearch search;
+
+    public FullTextSearchTest() {
+        project.addInterview(first);
+        project.addInterview(second);
+        search = new FullTextSearch(project);
+    }
+
+    @After
+    public void unbind() {
+        search.unbind();
+    }
+
+    private static Interview interview(String name, String text) {
+        return new Interview(name, LocalDate.of(2020, 1, 1), new InterviewText(text), new RootMoment());
+    }
+
+    // the interview name and the matched part of its text, for each hit
+    private List<String> hits(String query) {
+        List<String> result = new ArrayList<>();
+        for (SearchHit hit : search.search(query)) {
+            String text = hit.getInterview().getInterviewText().getText();
+            result.add(hit.getInterview().getParticipantName() + ":" + text.substring(hit.getStartIndex(), hit.getEndIndex()));
+        }
+        return result;
+    }
+
+    @Test
+    public void hitsAreInTheOrderOfTheInterviews() {
+        assertEquals(Arrays.asList("first:était", "first:ému", "second:émotion", "second:émotion"), hits("e"));
+        assertTrue(hits(" ").isEmpty());
+    }
+
+    @Test
+    public void interviewsAddedAfterASearchAreFound() {
+        assertEquals(Arrays.asList("first:très ému"), hits("tres emu"));
+        Interview third = interview("third", "Très émue, vraiment.");
+        project.addInterview(third);
+        assertEquals(Arrays.asList("first:très ému", "third:Très émue"), hits("tres emu"));
+    }
+
+    @Test
+    public void removedInterviewsAreNotFound() {
+        assertEquals(2, hits("emotion").size());
+        project.removeInterview(second);
+        assertTrue(hits("emotion").isEmpty());
+        assertEquals(Arrays.asList("first:ému"), hits("emu"));
+    }
+}
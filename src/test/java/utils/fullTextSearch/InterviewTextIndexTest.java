@@ -0,0 +1,61 @@
+package utils.fullTextSearch;
+
+import models.InterviewText;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class InterviewTextIndexTest {
+
+    private static final String text = "Il a dit : « J'étais ÉMU. » Puis il était ému, très ému, vraiment.";
+    private final InterviewTextIndex index = new InterviewTextIndex(new InterviewText(text));
+
+    // the matched parts of the original text
+    private List<String> search(String query) {
+        List<String> result = new ArrayList<>();
+        for (int[] range : index.search(InterviewTextIndex.tokenize(query)))
+            result.add(text.substring(range[0], range[1]));
+        return result;
+    }
+
+    @Test
+    public void queriesAreTokenizedAndFolded() {
+        assertEquals(Arrays.asList("j", "etais", "emu"), InterviewTextIndex.tokenize("J'étais  ÉMU !"));
+        assertTrue(InterviewTextIndex.tokenize(" ,; ").isEmpty());
+    }
+
+    @Test
+    public void accentsAndCaseAreIgnored() {
+        assertEquals(Arrays.asList("ÉMU", "ému", "ému"), search("emu"));
+    }
+
+    @Test
+    public void theLastWordIsAPrefix() {
+        assertEquals(Arrays.asList("étais", "était"), search("eta"));
+    }
+
+    @Test
+    public void severalWordsMatchConsecutiveWords() {
+        assertEquals(Arrays.asList("était ému"), search("était emu"));
+        assertEquals(Arrays.asList("très ému"), search("tres emu"));
+        assertEquals(Arrays.asList("il était ému"), search("il etait emu"));
+    }
+
+    @Test
+    public void rangesAreMappedBackToTheOriginalText() {
+        List<int[]> ranges = index.search(InterviewTextIndex.tokenize("j etais e"));
+        assertEquals(1, ranges.size());
+        assertEquals(text.indexOf("J'étais"), ranges.get(0)[0]);
+        assertEquals(text.indexOf("ÉMU") + 3, ranges.get(0)[1]);
+    }
+
+    @Test
+    public void missingWordsFindNothing() {
+        assertTrue(search("heureux").isEmpty());
+        assertTrue(search("il heureux").isEmpty());
+    }
+}
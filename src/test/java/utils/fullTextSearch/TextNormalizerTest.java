@@ -0,0 +1,33 @@
+package utils.fullTextSearch;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class TextNormalizerTest {
+
+    @Test
+    public void accentsAndCaseAreFolded() {
+        assertEquals("emotion ca francais", TextNormalizer.fold("Émotion ÇA français"));
+        assertEquals("aeiouy", TextNormalizer.fold("àêïöùÿ"));
+    }
+
+    @Test
+    public void foldingKeepsTheLengthOfTheText() {
+        String text = "Où est-ce ? Là-bas, œuvre № 5";
+        assertEquals(text.length(), TextNormalizer.fold(text).length());
+    }
+
+    @Test
+    public void symbolsAreKept() {
+        assertEquals("a-b, c?", TextNormalizer.fold("A-B, C?"));
+    }
+
+    @Test
+    public void wordCharacters() {
+        assertTrue(TextNormalizer.isWordCharacter('é'));
+        assertTrue(TextNormalizer.isWordCharacter('7'));
+        assertFalse(TextNormalizer.isWordCharacter(' '));
+        assertFalse(TextNormalizer.isWordCharacter('\''));
+    }
+}